@@ -1,6 +1,7 @@
 plugins {
     `maven-publish`
     id("hytale-mod") version "0.+"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.raccseal"
@@ -17,6 +18,10 @@ repositories {
 dependencies {
     compileOnly(libs.jetbrains.annotations)
     compileOnly(libs.jspecify)
+
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly(libs.junit.platform.launcher)
 }
 
 hytale {
@@ -30,6 +35,34 @@ hytale {
     // updateChannel = "pre-release"
 }
 
+// Microbenchmarks for the planter hot paths live in src/jmh; run with ./gradlew jmh
+// Reports throughput and, through the gc profiler, allocation rate per operation
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    benchmarkMode = listOf("thrpt")
+    timeUnit = "us"
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    // Narrow down with ./gradlew jmh -PjmhIncludes=SlotLayout
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+}
+
+// Benchmarks run outside the server, so the compile-only server API has to be on their classpath too
+sourceSets.named("jmh") {
+    compileClasspath += sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().compileClasspath
+}
+
+// Unit tests in src/test cover plain logic that runs without a server, the same goes for their classpath
+sourceSets.test {
+    compileClasspath += sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().compileClasspath
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
 java {
     toolchain {
         languageVersion = JavaLanguageVersion.of(javaVersion)
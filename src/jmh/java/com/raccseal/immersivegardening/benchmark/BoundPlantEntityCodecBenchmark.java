@@ -0,0 +1,75 @@
+package com.raccseal.immersivegardening.benchmark;
+
+import com.raccseal.immersivegardening.component.BoundPlantEntityComponent;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.ExtraInfo;
+import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+
+/**
+ * Measures {@link BoundPlantEntityComponent#CODEC} on save and load: loading a legacy save that stored a UUID list
+ * against loading the flat slot bit array, plus the per-store copy.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundPlantEntityCodecBenchmark {
+    @Param({"1", "3"})
+    public int slots;
+
+    private BoundPlantEntityComponent component;
+    private BsonValue legacyEncoded;
+    private BsonValue slotBitsEncoded;
+
+    @Setup
+    public void setup() {
+        component = new BoundPlantEntityComponent();
+        UUID[] uuids = new UUID[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            uuids[slot] = UUID.randomUUID();
+            component.setAttachedEntityAt(slot, uuids[slot]);
+            component.setPlantItemId(slot, "Plant_Flower_Common_Red");
+            component.setPlantSeed(slot, 1 + slot * 37);
+        }
+        ExtraInfo extraInfo = ExtraInfo.THREAD_LOCAL.get();
+        slotBitsEncoded = BoundPlantEntityComponent.CODEC.encode(component, extraInfo);
+        // Older saves only had the UUID list
+        BsonDocument legacy = new BsonDocument();
+        legacy.put("AttachedEntities", new ArrayCodec<>(Codec.UUID_BINARY, UUID[]::new).encode(uuids, extraInfo));
+        legacyEncoded = legacy;
+    }
+
+    @Benchmark
+    public BsonValue encode() {
+        return BoundPlantEntityComponent.CODEC.encode(component, ExtraInfo.THREAD_LOCAL.get());
+    }
+
+    @Benchmark
+    public BoundPlantEntityComponent decodeLegacy() {
+        return BoundPlantEntityComponent.CODEC.decode(legacyEncoded, ExtraInfo.THREAD_LOCAL.get());
+    }
+
+    @Benchmark
+    public BoundPlantEntityComponent decodeSlotBits() {
+        return BoundPlantEntityComponent.CODEC.decode(slotBitsEncoded, ExtraInfo.THREAD_LOCAL.get());
+    }
+
+    @Benchmark
+    public Object copy() {
+        return component.clone();
+    }
+}
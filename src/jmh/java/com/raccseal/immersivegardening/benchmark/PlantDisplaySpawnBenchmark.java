@@ -0,0 +1,142 @@
+package com.raccseal.immersivegardening.benchmark;
+
+import com.raccseal.immersivegardening.component.PlantDisplayComponent;
+import com.raccseal.immersivegardening.util.PlantDisplayProperties;
+import com.raccseal.immersivegardening.util.PlantDisplaySpawner;
+
+import com.hypixel.hytale.component.ComponentRegistry;
+import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.entity.UUIDComponent;
+import com.hypixel.hytale.server.core.entity.entities.BlockEntity;
+import com.hypixel.hytale.server.core.modules.entity.component.EntityScaleComponent;
+import com.hypixel.hytale.server.core.modules.entity.component.HeadRotation;
+import com.hypixel.hytale.server.core.modules.entity.component.PropComponent;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.entity.item.ItemComponent;
+import com.hypixel.hytale.server.core.modules.entity.item.PreventItemMerging;
+import com.hypixel.hytale.server.core.modules.entity.item.PreventPickup;
+import com.hypixel.hytale.server.core.modules.entity.tracker.NetworkId;
+import com.hypixel.hytale.server.core.prefab.PrefabCopyableComponent;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+
+/**
+ * Runs the {@link PlantDisplaySpawner} that {@code PlantDisplayUtil.remakePlantEntities} spawns displays with,
+ * against the real display components registered in a standalone component registry.
+ * Compares inserting into a tall planter by respawning every display with spawning only the new one,
+ * and cloning the per-plant prototype holder with building each display from scratch.
+ * Run with the gc profiler (the default in the build) for the allocated bytes per spawn.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlantDisplaySpawnBenchmark {
+    // Spawned holders are kept in a ring of this size, so live memory stays flat however many ops an iteration runs
+    private static final int BATCH = 1024;
+
+    private final Vector3i planterPos = new Vector3i(120, 64, -340);
+    private final Vector3d[] offsets = {new Vector3d(0.8, 0.9, 0.15), new Vector3d(0.5, 0.9, 0.15), new Vector3d(0.2, 0.9, 0.15)};
+
+    // Static plant props leave out the dropped item components
+    @Param({"false", "true"})
+    public boolean staticProp;
+
+    private ComponentRegistry<EntityStore> registry;
+    private PlantDisplaySpawner spawner;
+    private PlantDisplayProperties properties;
+    private RingTarget target;
+    private Holder<EntityStore> prototype;
+
+    @Setup(Level.Trial)
+    public void registerComponents() {
+        registry = new ComponentRegistry<>();
+        spawner = new PlantDisplaySpawner(new PlantDisplaySpawner.ComponentTypes(
+                registry.registerComponent(TransformComponent.class, TransformComponent::new),
+                registry.registerComponent(HeadRotation.class, HeadRotation::new),
+                registry.registerComponent(NetworkId.class, () -> new NetworkId(0)),
+                registry.registerComponent(UUIDComponent.class, () -> new UUIDComponent(new UUID(0, 0))),
+                registry.registerComponent(PlantDisplayComponent.class, PlantDisplayComponent::new),
+                registry.registerComponent(ItemComponent.class, ItemComponent::new),
+                registry.registerComponent(PreventPickup.class, () -> PreventPickup.INSTANCE),
+                registry.registerComponent(PreventItemMerging.class, () -> PreventItemMerging.INSTANCE),
+                registry.registerComponent(EntityScaleComponent.class, EntityScaleComponent::new),
+                registry.registerComponent(PropComponent.class, PropComponent::new),
+                registry.registerComponent(PrefabCopyableComponent.class, PrefabCopyableComponent::new),
+                registry.registerComponent(BlockEntity.class, BlockEntity::new),
+                registry.getNonSerializedComponentType()
+        ), registry::newHolder);
+        // Same scale as an item without icon properties
+        properties = PlantDisplayProperties.create("Plant_Flower_Common_Red", 0.5f * 0.7f, true);
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        target = new RingTarget();
+        prototype = spawner.buildPrototype(properties, staticProp, false);
+    }
+
+    @Benchmark
+    public UUID respawnAllSlots() {
+        UUID last = null;
+        for (int i = 0; i < offsets.length; i++) {
+            last = spawner.spawn(target, prototype, properties.getHeldStack(), planterPos, offsets[i], 1 + i);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Holder<EntityStore> clonePrototype() {
+        return prototype.clone();
+    }
+
+    @Benchmark
+    public UUID spawnNewSlot() {
+        return spawner.spawn(target, prototype, properties.getHeldStack(), planterPos, offsets[2], 3);
+    }
+
+    @Benchmark
+    public UUID spawnNewSlotFromScratch() {
+        // Baseline: the shared components are built for every display instead of cloned from the prototype
+        Holder<EntityStore> holder = spawner.buildPrototype(properties, staticProp, false);
+        UUID entityUUID = UUID.randomUUID();
+        spawner.addPerEntityComponents(holder, properties.getHeldStack(), planterPos, offsets[2], 3, target.takeNextNetworkId(), entityUUID);
+        target.addEntity(holder);
+        return entityUUID;
+    }
+
+    /**
+     * Keeps the last {@link #BATCH} spawned holders reachable, standing in for the world's entity store.
+     */
+    private static class RingTarget implements PlantDisplaySpawner.Target {
+        @SuppressWarnings("unchecked")
+        private final Holder<EntityStore>[] holders = new Holder[BATCH];
+        private int nextNetworkId;
+        private int next;
+
+        @Override
+        public int takeNextNetworkId() {
+            return nextNetworkId++;
+        }
+
+        @Override
+        public boolean addEntity(Holder<EntityStore> holder) {
+            holders[next] = holder;
+            next = (next + 1) % BATCH;
+            return true;
+        }
+    }
+}
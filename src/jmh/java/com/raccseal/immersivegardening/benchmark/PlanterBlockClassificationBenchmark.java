@@ -0,0 +1,79 @@
+package com.raccseal.immersivegardening.benchmark;
+
+import com.raccseal.immersivegardening.util.PlanterBlockTypes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the legacy string matching planter check against the precomputed classification table.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanterBlockClassificationBenchmark {
+    private static final int LOOKUPS = 1024;
+    private static final String[] WOODS = {"Blackwood", "Darkwood", "Deadwood", "Drywood", "Goldenwood", "Greenwood", "Hardwood", "Lightwood", "Redwood", "Softwood", "Tropicalwood"};
+
+    private String[] idsByIndex;
+    private int[] sampleIndices;
+    private PlanterBlockTypes.Table table;
+
+    @Setup
+    public void setup() {
+        List<String> ids = new ArrayList<>();
+        // Mostly unrelated blocks, like a real asset map, with the planters mixed in
+        for (int i = 0; i < 4000; i++) {
+            ids.add("Rock_Stone_Variant_" + i);
+        }
+        for (String wood : WOODS) {
+            ids.add("Immersive_Gardening_Planter_" + wood + "_Pot");
+            ids.add("Immersive_Gardening_Planter_" + wood + "_Pot_Small");
+            ids.add("Immersive_Gardening_Planter_" + wood + "_Tall");
+        }
+        idsByIndex = ids.toArray(new String[0]);
+        table = PlanterBlockTypes.Table.fromIds(idsByIndex);
+
+        SplittableRandom random = new SplittableRandom(42);
+        sampleIndices = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            sampleIndices[i] = random.nextInt(idsByIndex.length);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int stringContains() {
+        int planters = 0;
+        for (int index : sampleIndices) {
+            String blockId = idsByIndex[index];
+            if (blockId.contains("Planter") && blockId.contains("Immersive_Gardening")) {
+                planters++;
+            }
+        }
+        return planters;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int tableLookup() {
+        int planters = 0;
+        for (int index : sampleIndices) {
+            if (table.getVariant(index) != null) {
+                planters++;
+            }
+        }
+        return planters;
+    }
+}
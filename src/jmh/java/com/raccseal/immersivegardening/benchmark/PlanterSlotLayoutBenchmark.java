@@ -0,0 +1,77 @@
+package com.raccseal.immersivegardening.benchmark;
+
+import com.raccseal.immersivegardening.util.PlanterSlotLayouts;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+
+/**
+ * Compares computing the slot offsets of a tall planter per insert (fresh offsets rotated with cos/sin)
+ * against reading the offsets baked once per asset load.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanterSlotLayoutBenchmark {
+    private static final int LOOKUPS = 1024;
+
+    private Vector3d[][] baked;
+    private int[] rotations;
+
+    @Setup
+    public void setup() {
+        baked = PlanterSlotLayouts.bake(tallSlots());
+
+        SplittableRandom random = new SplittableRandom(42);
+        rotations = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            rotations[i] = random.nextInt(PlanterSlotLayouts.ROTATIONS);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void rotatePerInsert(Blackhole blackhole) {
+        for (int rotation : rotations) {
+            Vector3d[] offsets = tallSlots();
+            int yawDegrees = -rotation * 90;
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = rotateOffsetByYaw(offsets[i], yawDegrees).add(0.5, 0.0, 0.5);
+            }
+            blackhole.consume(offsets);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void bakedLookup(Blackhole blackhole) {
+        for (int rotation : rotations) {
+            blackhole.consume(baked[rotation]);
+        }
+    }
+
+    private static Vector3d[] tallSlots() {
+        return new Vector3d[]{new Vector3d(0.3, 0.9, -0.35), new Vector3d(0.0, 0.9, -0.35), new Vector3d(-0.3, 0.9, -0.35)};
+    }
+
+    private static Vector3d rotateOffsetByYaw(Vector3d offset, int yawDegrees) {
+        double radians = Math.toRadians(yawDegrees);
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        double rotatedX = offset.getX() * cos - offset.getZ() * sin;
+        double rotatedZ = offset.getX() * sin + offset.getZ() * cos;
+        return new Vector3d(rotatedX, offset.getY(), rotatedZ);
+    }
+}
@@ -1,32 +1,69 @@
 package com.raccseal.immersivegardening;
 
+import com.hypixel.hytale.assetstore.event.LoadedAssetsEvent;
 import com.hypixel.hytale.component.ComponentRegistryProxy;
 import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.ResourceType;
 import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
 import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.core.util.Config;
+import com.raccseal.immersivegardening.api.PlanterService;
+import com.raccseal.immersivegardening.command.GardeningStatsCommand;
 import com.raccseal.immersivegardening.component.BoundPlantEntityComponent;
 import com.raccseal.immersivegardening.component.PlantDisplayComponent;
+import com.raccseal.immersivegardening.component.PlanterComponent;
+import com.raccseal.immersivegardening.config.ImmersiveGardeningConfig;
 import com.raccseal.immersivegardening.interaction.PlanterInsertPlantInteraction;
 import com.raccseal.immersivegardening.interaction.PlanterRemovePlantInteraction;
+import com.raccseal.immersivegardening.metrics.GardeningMetrics;
+import com.raccseal.immersivegardening.resource.ChunkReconciliationQueue;
+import com.raccseal.immersivegardening.resource.PendingPlantDrops;
+import com.raccseal.immersivegardening.resource.PlantDisplayIndex;
+import com.raccseal.immersivegardening.resource.PlantValidationScheduler;
+import com.raccseal.immersivegardening.resource.PlanterDestructionBatch;
+import com.raccseal.immersivegardening.resource.PlanterInteractionQueue;
+import com.raccseal.immersivegardening.resource.PlanterLodState;
+import com.raccseal.immersivegardening.system.PlanterLodSystems;
 import com.raccseal.immersivegardening.system.PlanterSystems;
+import com.raccseal.immersivegardening.util.PlantDisplayProperties;
+import com.raccseal.immersivegardening.util.PlantableItems;
+import com.raccseal.immersivegardening.util.PlanterBlockTypes;
+import com.raccseal.immersivegardening.util.PlanterSlotLayouts;
 
 public class ImmersiveGardeningPlugin extends JavaPlugin {
     private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
     private static ImmersiveGardeningPlugin instance;
 
+    private final Config<ImmersiveGardeningConfig> config;
+    private final GardeningMetrics metrics = new GardeningMetrics();
+    private PlanterService planterService;
+
     // ChunkStore components (attached to block entities)
     private ComponentType<ChunkStore, BoundPlantEntityComponent> boundPlantEntityComponent;
+    private ComponentType<ChunkStore, PlanterComponent> planterComponent;
 
     // EntityStore components (attached to display entities)
     private ComponentType<EntityStore, PlantDisplayComponent> plantDisplayComponent;
 
+    // EntityStore resources (one per world)
+    private ResourceType<EntityStore, PlantValidationScheduler> plantValidationScheduler;
+    private ResourceType<EntityStore, PlantDisplayIndex> plantDisplayIndex;
+    private ResourceType<EntityStore, PlanterLodState> planterLodState;
+    private ResourceType<EntityStore, PlanterDestructionBatch> planterDestructionBatch;
+    private ResourceType<EntityStore, PendingPlantDrops> pendingPlantDrops;
+    private ResourceType<EntityStore, PlanterInteractionQueue> planterInteractionQueue;
+    private ResourceType<EntityStore, ChunkReconciliationQueue> chunkReconciliationQueue;
+
     public ImmersiveGardeningPlugin(JavaPluginInit init) {
         super(init);
         instance = this;
+        this.config = this.withConfig("ImmersiveGardening", ImmersiveGardeningConfig.CODEC);
     }
 
     public static ImmersiveGardeningPlugin get() {
@@ -36,32 +73,147 @@ public class ImmersiveGardeningPlugin extends JavaPlugin {
     @Override
     protected void setup() {
         LOGGER.atInfo().log("Setting up plugin " + this.getName());
+        // Write the file back so new options show up with their defaults
+        this.config.save();
+
         this.boundPlantEntityComponent = this.getChunkStoreRegistry().registerComponent(
                 BoundPlantEntityComponent.class,
                 "BoundPlantEntityComponent",
                 BoundPlantEntityComponent.CODEC
         );
+        this.planterComponent = this.getChunkStoreRegistry().registerComponent(
+                PlanterComponent.class,
+                "PlanterComponent",
+                PlanterComponent.CODEC
+        );
         this.plantDisplayComponent = this.getEntityStoreRegistry().registerComponent(
                 PlantDisplayComponent.class,
                 "PlantDisplayComponent",
                 PlantDisplayComponent.CODEC
         );
+        this.plantValidationScheduler = this.getEntityStoreRegistry().registerResource(
+                PlantValidationScheduler.class,
+                PlantValidationScheduler::new
+        );
+        this.plantDisplayIndex = this.getEntityStoreRegistry().registerResource(
+                PlantDisplayIndex.class,
+                PlantDisplayIndex::new
+        );
+        this.planterLodState = this.getEntityStoreRegistry().registerResource(
+                PlanterLodState.class,
+                PlanterLodState::new
+        );
+        this.planterDestructionBatch = this.getEntityStoreRegistry().registerResource(
+                PlanterDestructionBatch.class,
+                PlanterDestructionBatch::new
+        );
+        this.pendingPlantDrops = this.getEntityStoreRegistry().registerResource(
+                PendingPlantDrops.class,
+                PendingPlantDrops::new
+        );
+        this.planterInteractionQueue = this.getEntityStoreRegistry().registerResource(
+                PlanterInteractionQueue.class,
+                PlanterInteractionQueue::new
+        );
+        this.chunkReconciliationQueue = this.getEntityStoreRegistry().registerResource(
+                ChunkReconciliationQueue.class,
+                ChunkReconciliationQueue::new
+        );
         this.getCodecRegistry(Interaction.CODEC).register("PlanterInsertPlantInteraction", PlanterInsertPlantInteraction.class, PlanterInsertPlantInteraction.CODEC);
         this.getCodecRegistry(Interaction.CODEC).register("PlanterRemovePlantInteraction", PlanterRemovePlantInteraction.class, PlanterRemovePlantInteraction.CODEC);
 
         // Register systems for handling planter block events
-        this.getEntityStoreRegistry().registerSystem(new PlanterSystems.PlantDisplayTick());
+        this.getEntityStoreRegistry().registerSystem(new PlanterSystems.ValidationSchedulerTick());
+        this.getEntityStoreRegistry().registerSystem(new PlanterSystems.PlantDisplayIndexSystem());
         this.getEntityStoreRegistry().registerSystem(new PlanterSystems.BreakPlanterSystem());
+        this.getEntityStoreRegistry().registerSystem(new PlanterSystems.DestructionBatchTick());
+        this.getEntityStoreRegistry().registerSystem(new PlanterSystems.PlantDropFlushTick());
+        this.getEntityStoreRegistry().registerSystem(new PlanterSystems.BlockUpdateFlushTick());
+        this.getChunkStoreRegistry().registerSystem(new PlanterSystems.PlanterBlockChangeSystem());
+        this.getChunkStoreRegistry().registerSystem(new PlanterSystems.PlanterMaterializationSystem());
+        this.getChunkStoreRegistry().registerSystem(new PlanterSystems.PlanterReconciliationSystem());
+        this.getChunkStoreRegistry().registerSystem(new PlanterSystems.ChunkResidencySystem());
+        this.getEntityStoreRegistry().registerSystem(new PlanterSystems.ReconciliationTick());
+        this.getEntityStoreRegistry().registerSystem(new PlanterLodSystems.ViewerTrackingSystem());
+        this.getEntityStoreRegistry().registerSystem(new PlanterLodSystems.LodTick());
+        this.getEntityStoreRegistry().registerSystem(new PlanterSystems.MetricsTick());
+
+        this.getCommandRegistry().registerCommand(new GardeningStatsCommand());
+        this.planterService = new PlanterService(this);
+
+        // Keep asset derived lookup tables in sync with asset reloads
+        this.getEventRegistry().register(LoadedAssetsEvent.class, BlockType.class, event -> {
+            PlanterBlockTypes.rebuild();
+            PlanterSlotLayouts.rebuild();
+        });
+        this.getEventRegistry().register(LoadedAssetsEvent.class, Item.class, event -> {
+            PlantDisplayProperties.invalidate();
+            PlantableItems.rebuild();
+        });
 
         LOGGER.atInfo().log(this.getName() + " plugin setup complete!");
     }
 
+    @Override
+    protected void start() {
+        PlanterBlockTypes.rebuild();
+        PlanterSlotLayouts.rebuild();
+        PlantableItems.rebuild();
+    }
+
 
     public ComponentType<ChunkStore, BoundPlantEntityComponent> getBoundPlantEntityComponent() {
         return boundPlantEntityComponent;
     }
 
+    public ComponentType<ChunkStore, PlanterComponent> getPlanterComponent() {
+        return planterComponent;
+    }
+
     public ComponentType<EntityStore, PlantDisplayComponent> getPlantDisplayComponent() {
         return plantDisplayComponent;
     }
+
+    public ResourceType<EntityStore, PlantValidationScheduler> getPlantValidationScheduler() {
+        return plantValidationScheduler;
+    }
+
+    public ResourceType<EntityStore, PlantDisplayIndex> getPlantDisplayIndex() {
+        return plantDisplayIndex;
+    }
+
+    public ResourceType<EntityStore, PlanterLodState> getPlanterLodState() {
+        return planterLodState;
+    }
+
+    public ResourceType<EntityStore, PlanterDestructionBatch> getPlanterDestructionBatch() {
+        return planterDestructionBatch;
+    }
+
+    public ResourceType<EntityStore, PendingPlantDrops> getPendingPlantDrops() {
+        return pendingPlantDrops;
+    }
+
+    public ResourceType<EntityStore, PlanterInteractionQueue> getPlanterInteractionQueue() {
+        return planterInteractionQueue;
+    }
+
+    public ResourceType<EntityStore, ChunkReconciliationQueue> getChunkReconciliationQueue() {
+        return chunkReconciliationQueue;
+    }
+
+    /**
+     * Batch API for planting into and clearing planters from other plugins.
+     */
+    public PlanterService getPlanterService() {
+        return planterService;
+    }
+
+    public ImmersiveGardeningConfig getGardeningConfig() {
+        return config.get();
+    }
+
+    public GardeningMetrics getMetrics() {
+        return metrics;
+    }
 }
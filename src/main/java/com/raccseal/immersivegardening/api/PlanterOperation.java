@@ -0,0 +1,28 @@
+package com.raccseal.immersivegardening.api;
+
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One change to a planter slot for {@link PlanterService#apply}.
+ *
+ * @param position Position of the planter block
+ * @param slot     Slot of the planter, in [0, capacity of the planter)
+ * @param plant    The plant to put into the slot, or null (or an empty stack) to clear the slot. One item of it is used
+ */
+public record PlanterOperation(Vector3i position, int slot, @Nullable ItemStack plant) {
+
+    public static PlanterOperation plant(Vector3i position, int slot, ItemStack plant) {
+        return new PlanterOperation(position, slot, plant);
+    }
+
+    public static PlanterOperation clear(Vector3i position, int slot) {
+        return new PlanterOperation(position, slot, null);
+    }
+
+    public boolean isClear() {
+        return plant == null || plant.isEmpty();
+    }
+}
@@ -0,0 +1,41 @@
+package com.raccseal.immersivegardening.api;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Outcome of one {@link PlanterOperation}.
+ *
+ * @param status  What happened
+ * @param removed The plant taken out of the slot by a successful clear. It is handed to the caller, nothing is dropped.
+ *                The stack is not shared with any display, so the caller may do with it as it likes
+ */
+public record PlanterOperationResult(Status status, @Nullable ItemStack removed) {
+    static final PlanterOperationResult PLANTED = new PlanterOperationResult(Status.PLANTED, null);
+    static final PlanterOperationResult CHUNK_NOT_LOADED = new PlanterOperationResult(Status.CHUNK_NOT_LOADED, null);
+    static final PlanterOperationResult NOT_A_PLANTER = new PlanterOperationResult(Status.NOT_A_PLANTER, null);
+    static final PlanterOperationResult INVALID_SLOT = new PlanterOperationResult(Status.INVALID_SLOT, null);
+    static final PlanterOperationResult NOT_PLANTABLE = new PlanterOperationResult(Status.NOT_PLANTABLE, null);
+    static final PlanterOperationResult SLOT_OCCUPIED = new PlanterOperationResult(Status.SLOT_OCCUPIED, null);
+    static final PlanterOperationResult SLOT_EMPTY = new PlanterOperationResult(Status.SLOT_EMPTY, null);
+    static final PlanterOperationResult FAILED = new PlanterOperationResult(Status.FAILED, null);
+
+    public boolean succeeded() {
+        return status == Status.PLANTED || status == Status.CLEARED;
+    }
+
+    public enum Status {
+        PLANTED,
+        CLEARED,
+        // The chunk of the planter is not loaded, it is never loaded for an operation
+        CHUNK_NOT_LOADED,
+        NOT_A_PLANTER,
+        INVALID_SLOT,
+        NOT_PLANTABLE,
+        SLOT_OCCUPIED,
+        SLOT_EMPTY,
+        // The block entity or the display entity could not be created
+        FAILED
+    }
+}
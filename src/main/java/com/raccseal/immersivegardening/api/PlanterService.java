@@ -0,0 +1,211 @@
+package com.raccseal.immersivegardening.api;
+
+import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
+import com.raccseal.immersivegardening.component.BoundPlantEntityComponent;
+import com.raccseal.immersivegardening.component.PlantDisplayComponent;
+import com.raccseal.immersivegardening.resource.PlantDisplayIndex;
+import com.raccseal.immersivegardening.resource.PlanterInteractionQueue;
+import com.raccseal.immersivegardening.resource.PlanterLodState;
+import com.raccseal.immersivegardening.util.PlantDisplayProperties;
+import com.raccseal.immersivegardening.util.PlantDisplayUtil;
+import com.raccseal.immersivegardening.util.PlantableItems;
+import com.raccseal.immersivegardening.util.PlanterBlockTypes;
+import com.raccseal.immersivegardening.util.PlanterInteractionChecks;
+import com.raccseal.immersivegardening.util.PlanterSlotLayouts;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.ResourceType;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.modules.block.BlockModule;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Programmatic access to planters for other plugins and automation, without a player interaction.
+ * Get it from {@link ImmersiveGardeningPlugin#getPlanterService()}.
+ * <p>
+ * Operations are applied as a batch in one pass on the world thread, grouped by chunk so each chunk is resolved once.
+ * Every operation gets its own result, in the order of the batch. Plants follow the same rules as player inserts:
+ * only plantable items are accepted, and cleared plants are handed back in the result instead of being dropped.
+ */
+public class PlanterService {
+    private final ImmersiveGardeningPlugin plugin;
+    private final ComponentType<ChunkStore, BoundPlantEntityComponent> boundPlantEntityComponent;
+    private final ComponentType<EntityStore, PlantDisplayComponent> plantDisplayComponent;
+    private final ResourceType<EntityStore, PlantDisplayIndex> plantDisplayIndex;
+    private final ResourceType<EntityStore, PlanterInteractionQueue> planterInteractionQueue;
+    private final ResourceType<EntityStore, PlanterLodState> planterLodState;
+
+    public PlanterService(ImmersiveGardeningPlugin plugin) {
+        this.plugin = plugin;
+        this.boundPlantEntityComponent = plugin.getBoundPlantEntityComponent();
+        this.plantDisplayComponent = plugin.getPlantDisplayComponent();
+        this.plantDisplayIndex = plugin.getPlantDisplayIndex();
+        this.planterInteractionQueue = plugin.getPlanterInteractionQueue();
+        this.planterLodState = plugin.getPlanterLodState();
+    }
+
+    /**
+     * Applies the operations from any thread. They run together on the world thread.
+     *
+     * @return The results in the order of the operations, completed once the batch was applied
+     */
+    public CompletableFuture<List<PlanterOperationResult>> apply(World world, List<PlanterOperation> operations) {
+        CompletableFuture<List<PlanterOperationResult>> results = new CompletableFuture<>();
+        world.execute(() -> complete(results, world, world.getEntityStore().getStore(), operations));
+        return results;
+    }
+
+    /**
+     * Applies the operations from inside a system, as one command of its command buffer.
+     *
+     * @return The results in the order of the operations, completed when the command buffer runs
+     */
+    public CompletableFuture<List<PlanterOperationResult>> apply(CommandBuffer<EntityStore> commandBuffer, List<PlanterOperation> operations) {
+        CompletableFuture<List<PlanterOperationResult>> results = new CompletableFuture<>();
+        World world = commandBuffer.getExternalData().getWorld();
+        commandBuffer.run(store -> complete(results, world, store, operations));
+        return results;
+    }
+
+    private void complete(CompletableFuture<List<PlanterOperationResult>> results, World world, Store<EntityStore> store, List<PlanterOperation> operations) {
+        try {
+            results.complete(applyNow(world, store, operations));
+        } catch (RuntimeException e) {
+            results.completeExceptionally(e);
+        }
+    }
+
+    private List<PlanterOperationResult> applyNow(World world, Store<EntityStore> store, List<PlanterOperation> operations) {
+        Map<Long, List<Integer>> operationsByChunk = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            Vector3i position = operations.get(i).position();
+            long chunkIndex = ChunkUtil.indexChunkFromBlock(position.getX(), position.getZ());
+            operationsByChunk.computeIfAbsent(chunkIndex, key -> new ArrayList<>()).add(i);
+        }
+
+        PlanterOperationResult[] results = new PlanterOperationResult[operations.size()];
+        PlanterInteractionQueue interactionQueue = store.getResource(planterInteractionQueue);
+        for (Map.Entry<Long, List<Integer>> chunkOperations : operationsByChunk.entrySet()) {
+            // Never load a chunk for an operation
+            WorldChunk worldChunk = world.getChunkIfLoaded(chunkOperations.getKey());
+            for (int i : chunkOperations.getValue()) {
+                PlanterOperation operation = operations.get(i);
+                results[i] = worldChunk == null ? PlanterOperationResult.CHUNK_NOT_LOADED : applyOne(world, store, worldChunk, operation);
+                if (results[i].succeeded()) {
+                    // Flushed once per planter on the next tick, like player interactions
+                    interactionQueue.requestBlockUpdate(operation.position());
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private PlanterOperationResult applyOne(World world, Store<EntityStore> store, WorldChunk worldChunk, PlanterOperation operation) {
+        Vector3i position = operation.position();
+        BlockType blockType = worldChunk.getBlockType(position);
+        if (!PlanterBlockTypes.isPlanterBlock(blockType)) {
+            return PlanterOperationResult.NOT_A_PLANTER;
+        }
+        int slot = operation.slot();
+        if (slot < 0 || slot >= PlanterSlotLayouts.getCapacity(blockType)) {
+            return PlanterOperationResult.INVALID_SLOT;
+        }
+        if (!operation.isClear() && !PlantableItems.isPlantable(operation.plant())) {
+            return PlanterOperationResult.NOT_PLANTABLE;
+        }
+
+        int x = position.getX();
+        int y = position.getY();
+        int z = position.getZ();
+        Ref<ChunkStore> chunkRef = worldChunk.getBlockComponentEntity(x, y, z);
+        if (chunkRef == null && !operation.isClear()) {
+            chunkRef = BlockModule.ensureBlockEntity(worldChunk, x, y, z);
+        }
+        Store<ChunkStore> chunkStore = world.getChunkStore().getStore();
+        BoundPlantEntityComponent boundComp = chunkRef == null ? null : chunkStore.getComponent(chunkRef, boundPlantEntityComponent);
+
+        if (operation.isClear()) {
+            return boundComp == null ? PlanterOperationResult.SLOT_EMPTY : clearSlot(store, boundComp, position, slot);
+        }
+        if (chunkRef == null) {
+            return PlanterOperationResult.FAILED;
+        }
+
+        boolean created = boundComp == null;
+        if (created) {
+            boundComp = new BoundPlantEntityComponent();
+        }
+        if ((PlanterInteractionChecks.usedSlotMask(store, boundComp, position) & (1 << slot)) != 0) {
+            return PlanterOperationResult.SLOT_OCCUPIED;
+        }
+
+        // Offsets are already rotated to align with the block rotation
+        Vector3d[] offsets = PlanterSlotLayouts.getSlots(blockType, worldChunk.getRotationIndex(x, y, z));
+        int seed = PlantDisplayUtil.newPlantSeed();
+        ItemStack plant = operation.plant().withQuantity(1);
+        UUID[] uuids = PlantDisplayUtil.remakePlantEntities(store, null, plant, position, offsets[slot], seed);
+        if (uuids == null || uuids.length == 0 || uuids[0] == null) {
+            return PlanterOperationResult.FAILED;
+        }
+
+        boundComp.setAttachedEntityAt(slot, uuids[0]);
+        boundComp.setPlantItemId(slot, plant.getItemId());
+        boundComp.setPlantSeed(slot, seed);
+        if (created) {
+            chunkStore.putComponent(chunkRef, boundPlantEntityComponent, boundComp);
+        }
+        if (plugin.getGardeningConfig().isProximityLodActive()) {
+            // Spawned at full detail, the next LOD pass moves it to the level of the closest player
+            store.getResource(planterLodState).setLevel(position, PlanterLodState.LEVEL_FULL);
+        }
+        return PlanterOperationResult.PLANTED;
+    }
+
+    private PlanterOperationResult clearSlot(Store<EntityStore> store, BoundPlantEntityComponent boundComp, Vector3i position, int slot) {
+        if (!boundComp.isOccupied(slot) && boundComp.getPlantItemId(slot) == null) {
+            return PlanterOperationResult.SLOT_EMPTY;
+        }
+
+        ItemStack removed = null;
+        for (Ref<EntityStore> displayRef : new ArrayList<>(store.getResource(plantDisplayIndex).getDisplays(position))) {
+            if (!displayRef.isValid() || PlantDisplayUtil.slotOf(store, boundComp, displayRef) != slot) {
+                continue;
+            }
+            PlantDisplayComponent displayComp = store.getComponent(displayRef, plantDisplayComponent);
+            if (displayComp != null && removed == null) {
+                removed = displayComp.getHeldStack();
+            }
+            PlantDisplayUtil.removePlantEntity(store, displayRef);
+        }
+        // Plain plants share the cached stack of every display of that plant, callers get a stack of their own
+        if (removed != null && removed == PlantDisplayProperties.of(removed.getItemId()).getHeldStack()) {
+            removed = new ItemStack(removed.getItemId(), 1);
+        }
+
+        // Lazily materialized plants may not have a display right now
+        String plantItemId = boundComp.getPlantItemId(slot);
+        if (removed == null && plantItemId != null) {
+            removed = new ItemStack(plantItemId, 1);
+        }
+        boundComp.removeAttachedEntityAt(slot);
+        return new PlanterOperationResult(PlanterOperationResult.Status.CLEARED, removed);
+    }
+}
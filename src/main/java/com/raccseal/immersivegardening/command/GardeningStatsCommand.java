@@ -0,0 +1,50 @@
+package com.raccseal.immersivegardening.command;
+
+import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
+import com.raccseal.immersivegardening.metrics.GardeningMetrics;
+import com.raccseal.immersivegardening.metrics.LatencyHistogram;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Admin command printing the runtime metrics of the gardening plugin.
+ */
+public class GardeningStatsCommand extends CommandBase {
+
+    public GardeningStatsCommand() {
+        super("gardeningstats", "Shows runtime metrics of Immersive Gardening");
+    }
+
+    @Override
+    protected void executeSync(@NonNull CommandContext context) {
+        GardeningMetrics metrics = ImmersiveGardeningPlugin.get().getMetrics();
+
+        context.sendMessage(Message.raw("Immersive Gardening metrics"));
+        context.sendMessage(Message.raw("Displays spawned: " + metrics.getDisplaysSpawned()
+                + ", removed: " + metrics.getDisplaysRemoved()
+                + ", unloaded: " + metrics.getDisplaysUnloaded()));
+        context.sendMessage(Message.raw("Orphans reaped: " + metrics.getOrphansReaped()
+                + ", block type checks: " + metrics.getBlockTypeChecks()));
+        sendHistogram(context, "Planter break", metrics.getBreakPlanter());
+        sendHistogram(context, "Destruction batch", metrics.getDestructionBatch());
+        sendHistogram(context, "Batched planter", metrics.getDestroyPlanter());
+        sendHistogram(context, "Insert plant", metrics.getInsertInteraction());
+        sendHistogram(context, "Remove plant", metrics.getRemoveInteraction());
+        metrics.getWorlds().forEach((world, counts) -> {
+            context.sendMessage(Message.raw("World " + world + ": " + counts.planters() + " planters, " + counts.displays() + " displays"));
+            context.sendMessage(Message.raw("  Reconciled chunks: " + counts.chunksReconciled()
+                    + " (" + counts.chunksPendingReconciliation() + " pending)"
+                    + ", dangling slots repaired: " + counts.danglingSlotsRepaired()
+                    + ", displays rebound: " + counts.displaysRebound()
+                    + ", orphan displays removed: " + counts.orphanDisplaysRemoved()));
+        });
+    }
+
+    private static void sendHistogram(CommandContext context, String name, LatencyHistogram histogram) {
+        context.sendMessage(Message.raw(name + ": " + histogram.snapshot().toSummary()));
+    }
+}
@@ -8,89 +8,371 @@ import com.hypixel.hytale.component.Component;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import org.jspecify.annotations.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Component that stores the references to the display entities showing plants in the planter.
  * This is attached to the block entity (ChunkStore) and references entities in the EntityStore.
+ * <p>
+ * Entities are stored per slot as parallel most/least significant bit arrays with an occupancy bitmask,
+ * and serialized as one flat long array. The legacy {@code AttachedEntities} UUID list is still read.
+ * Each slot also records the item id of its plant and a rotation seed, which together are the authoritative
+ * plant state when display entities are materialized lazily per loaded chunk. Seeds are one byte per slot,
+ * packed eight to a long, so a rebuilt display faces the same way it did before its chunk unloaded.
  */
 public class BoundPlantEntityComponent implements Component<ChunkStore> {
     public static final BuilderCodec<BoundPlantEntityComponent> CODEC = BuilderCodec.builder(BoundPlantEntityComponent.class, BoundPlantEntityComponent::new)
+            // Read only, older saves stored a plain UUID list in slot order
             .append(new KeyedCodec<>("AttachedEntities", new ArrayCodec<>(Codec.UUID_BINARY, UUID[]::new)),
                     BoundPlantEntityComponent::setAttachedEntitiesArray,
-                    BoundPlantEntityComponent::getAttachedEntitiesArray)
+                    component -> null)
+            .add()
+            .append(new KeyedCodec<>("SlotEntities", Codec.LONG_ARRAY),
+                    BoundPlantEntityComponent::setSlotEntityBits,
+                    BoundPlantEntityComponent::getSlotEntityBits)
+            .add()
+            .append(new KeyedCodec<>("Occupancy", Codec.INTEGER),
+                    BoundPlantEntityComponent::setOccupancy,
+                    BoundPlantEntityComponent::getOccupancy)
+            .add()
+            .append(new KeyedCodec<>("PlantItems", new ArrayCodec<>(Codec.STRING, String[]::new)),
+                    BoundPlantEntityComponent::setPlantItemIds,
+                    BoundPlantEntityComponent::getPlantItemIds)
+            .add()
+            .append(new KeyedCodec<>("PlantSeeds", Codec.LONG_ARRAY),
+                    BoundPlantEntityComponent::setPlantSeedBits,
+                    BoundPlantEntityComponent::getPlantSeedBits)
             .add()
             .build();
 
-    private List<UUID> attachedEntities;
+    // The occupancy mask is an int
+    public static final int MAX_SLOTS = 32;
+
+    private static final long[] NO_BITS = new long[0];
+    private static final String[] NO_ITEMS = new String[0];
+    private static final String NO_PLANT = "";
+    private static final byte[] NO_SEEDS = new byte[0];
+    // Seed value of slots that have none recorded, real seeds are 1..255
+    private static final int NO_SEED = 0;
+
+    private long[] mostSigBits;
+    private long[] leastSigBits;
+    private int occupancy;
+    private String[] plantItemIds;
+    private byte[] plantSeeds;
 
     public BoundPlantEntityComponent() {
-        this.attachedEntities = new ArrayList<>();
+        this.mostSigBits = NO_BITS;
+        this.leastSigBits = NO_BITS;
+        this.occupancy = 0;
+        this.plantItemIds = NO_ITEMS;
+        this.plantSeeds = NO_SEEDS;
     }
 
     public BoundPlantEntityComponent(List<UUID> attachedEntities) {
-        this.attachedEntities = new ArrayList<>(attachedEntities);
+        this();
+        setAttachedEntities(attachedEntities);
+    }
+
+    private BoundPlantEntityComponent(long[] mostSigBits, long[] leastSigBits, int occupancy, String[] plantItemIds, byte[] plantSeeds) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+        this.occupancy = occupancy;
+        this.plantItemIds = plantItemIds;
+        this.plantSeeds = plantSeeds;
+    }
+
+    /**
+     * Number of slots with storage allocated. Occupied slots are always below this.
+     */
+    public int getSlotCount() {
+        return mostSigBits.length;
+    }
+
+    public boolean isOccupied(int slot) {
+        return slot >= 0 && slot < mostSigBits.length && (occupancy & (1 << slot)) != 0;
+    }
+
+    @Nullable
+    public UUID getAttachedEntity(int slot) {
+        return isOccupied(slot) ? new UUID(mostSigBits[slot], leastSigBits[slot]) : null;
+    }
+
+    /**
+     * Whether the given entity is stored in the given slot, without allocating a UUID.
+     */
+    public boolean isAttachedAt(int slot, UUID uuid) {
+        return isOccupied(slot) && mostSigBits[slot] == uuid.getMostSignificantBits() && leastSigBits[slot] == uuid.getLeastSignificantBits();
+    }
+
+    /**
+     * Stores the entity for a specific slot, replacing whatever was stored there.
+     */
+    public void setAttachedEntityAt(int slot, UUID uuid) {
+        if (slot < 0 || slot >= MAX_SLOTS) {
+            throw new IndexOutOfBoundsException("Planter slot " + slot + " out of range");
+        }
+        growSlots(slot + 1);
+        this.mostSigBits[slot] = uuid.getMostSignificantBits();
+        this.leastSigBits[slot] = uuid.getLeastSignificantBits();
+        this.occupancy |= 1 << slot;
+    }
+
+    public void removeAttachedEntityAt(int slot) {
+        if (isOccupied(slot)) {
+            this.occupancy &= ~(1 << slot);
+            this.mostSigBits[slot] = 0L;
+            this.leastSigBits[slot] = 0L;
+        }
+        if (slot >= 0 && slot < plantItemIds.length) {
+            this.plantItemIds[slot] = NO_PLANT;
+        }
+        if (slot >= 0 && slot < plantSeeds.length) {
+            this.plantSeeds[slot] = NO_SEED;
+        }
+    }
+
+    /**
+     * Item id of the plant in the given slot, or null if the slot has no recorded plant.
+     */
+    @Nullable
+    public String getPlantItemId(int slot) {
+        if (slot < 0 || slot >= plantItemIds.length || plantItemIds[slot] == null || plantItemIds[slot].isEmpty()) {
+            return null;
+        }
+        return plantItemIds[slot];
+    }
+
+    public void setPlantItemId(int slot, @Nullable String itemId) {
+        if (slot < 0 || slot >= MAX_SLOTS) {
+            throw new IndexOutOfBoundsException("Planter slot " + slot + " out of range");
+        }
+        growSlots(slot + 1);
+        this.plantItemIds[slot] = itemId == null ? NO_PLANT : itemId;
     }
 
+    /**
+     * Rotation seed of the plant in the given slot, in 1..255, or 0 if none is recorded.
+     */
+    public int getPlantSeed(int slot) {
+        return slot < 0 || slot >= plantSeeds.length ? NO_SEED : plantSeeds[slot] & 0xFF;
+    }
+
+    public void setPlantSeed(int slot, int seed) {
+        if (slot < 0 || slot >= MAX_SLOTS) {
+            throw new IndexOutOfBoundsException("Planter slot " + slot + " out of range");
+        }
+        growSlots(slot + 1);
+        this.plantSeeds[slot] = (byte) seed;
+    }
+
+    /**
+     * Bitmask of the slots that have a recorded plant.
+     */
+    public int getPlantMask() {
+        int mask = 0;
+        for (int slot = 0; slot < plantItemIds.length; slot++) {
+            if (getPlantItemId(slot) != null) {
+                mask |= 1 << slot;
+            }
+        }
+        return mask;
+    }
+
+    public int getAttachedEntityCount() {
+        return Integer.bitCount(getOccupancy());
+    }
+
+    /**
+     * First slot below {@code slotCount} that is not occupied, or -1 if all are.
+     */
+    public int firstFreeSlot(int slotCount) {
+        int free = Integer.numberOfTrailingZeros(~getOccupancy());
+        return free < Math.min(slotCount, MAX_SLOTS) ? free : -1;
+    }
+
+    /**
+     * The attached entities of all occupied slots, in slot order. Allocates, prefer the slot accessors.
+     */
     public List<UUID> getAttachedEntities() {
+        List<UUID> attachedEntities = new ArrayList<>(getAttachedEntityCount());
+        for (int slot = 0; slot < getSlotCount(); slot++) {
+            if (isOccupied(slot)) {
+                attachedEntities.add(new UUID(mostSigBits[slot], leastSigBits[slot]));
+            }
+        }
         return attachedEntities;
     }
 
+    /**
+     * Replaces all attached entities, placing them in slots 0..n-1.
+     */
     public void setAttachedEntities(List<UUID> attachedEntities) {
-        this.attachedEntities = new ArrayList<>(attachedEntities);
+        clearAttachedEntities();
+        int slot = 0;
+        for (UUID uuid : attachedEntities) {
+            if (uuid != null && slot < MAX_SLOTS) {
+                setAttachedEntityAt(slot++, uuid);
+            }
+        }
     }
 
-    // Methods for ArrayCodec serialization
     public UUID[] getAttachedEntitiesArray() {
-        return attachedEntities.toArray(new UUID[0]);
+        return getAttachedEntities().toArray(new UUID[0]);
     }
 
     public void setAttachedEntitiesArray(UUID[] attachedEntitiesArray) {
-        this.attachedEntities = new ArrayList<>();
-        if (attachedEntitiesArray != null) {
-            for (UUID uuid : attachedEntitiesArray) {
-                if (uuid != null) {
-                    this.attachedEntities.add(uuid);
-                }
-            }
+        setAttachedEntities(attachedEntitiesArray == null ? List.of() : Arrays.asList(attachedEntitiesArray));
+    }
+
+    // Methods for the compact codec: [msb0, lsb0, msb1, lsb1, ...] for every allocated slot
+    public long[] getSlotEntityBits() {
+        long[] bits = new long[getSlotCount() * 2];
+        for (int slot = 0; slot < getSlotCount(); slot++) {
+            bits[slot * 2] = mostSigBits[slot];
+            bits[slot * 2 + 1] = leastSigBits[slot];
+        }
+        return bits;
+    }
+
+    public void setSlotEntityBits(long[] bits) {
+        int slots = bits == null ? 0 : Math.min(bits.length / 2, MAX_SLOTS);
+        // Plant ids and seeds may have been decoded first, keep every per-slot array the same length
+        int size = Math.max(slots, Math.max(plantItemIds.length, plantSeeds.length));
+        this.mostSigBits = new long[size];
+        this.leastSigBits = new long[size];
+        ensureSlots(size);
+        for (int slot = 0; slot < slots; slot++) {
+            this.mostSigBits[slot] = bits[slot * 2];
+            this.leastSigBits[slot] = bits[slot * 2 + 1];
+        }
+    }
+
+    public String[] getPlantItemIds() {
+        return plantItemIds.clone();
+    }
+
+    public void setPlantItemIds(String[] plantItemIds) {
+        String[] ids = plantItemIds == null ? NO_ITEMS : Arrays.copyOf(plantItemIds, Math.min(plantItemIds.length, MAX_SLOTS));
+        ensureSlots(ids.length);
+        for (int slot = 0; slot < this.plantItemIds.length; slot++) {
+            this.plantItemIds[slot] = slot < ids.length && ids[slot] != null ? ids[slot] : NO_PLANT;
+        }
+    }
+
+    // Methods for the packed seed codec: eight one byte seeds per long, slot 0 in the lowest byte
+    public long[] getPlantSeedBits() {
+        long[] bits = new long[(plantSeeds.length + 7) / 8];
+        for (int slot = 0; slot < plantSeeds.length; slot++) {
+            bits[slot / 8] |= (plantSeeds[slot] & 0xFFL) << ((slot % 8) * 8);
         }
+        return bits;
+    }
+
+    public void setPlantSeedBits(long[] bits) {
+        int slots = bits == null ? 0 : Math.min(bits.length * 8, MAX_SLOTS);
+        ensureSlots(slots);
+        for (int slot = 0; slot < this.plantSeeds.length; slot++) {
+            this.plantSeeds[slot] = slot < slots ? (byte) (bits[slot / 8] >>> ((slot % 8) * 8)) : NO_SEED;
+        }
+    }
+
+    /**
+     * Occupancy bitmask, limited to allocated slots.
+     * The raw mask is kept as decoded because the slot array may be decoded after it.
+     */
+    public int getOccupancy() {
+        return occupancy & slotMask(getSlotCount());
+    }
+
+    public void setOccupancy(int occupancy) {
+        this.occupancy = occupancy;
     }
 
     public void addAttachedEntity(UUID uuid) {
-        this.attachedEntities.add(uuid);
+        int slot = firstFreeSlot(MAX_SLOTS);
+        if (slot >= 0) {
+            setAttachedEntityAt(slot, uuid);
+        }
     }
 
     public void clearAttachedEntities() {
-        this.attachedEntities.clear();
+        Arrays.fill(this.mostSigBits, 0L);
+        Arrays.fill(this.leastSigBits, 0L);
+        Arrays.fill(this.plantItemIds, NO_PLANT);
+        Arrays.fill(this.plantSeeds, (byte) NO_SEED);
+        this.occupancy = 0;
+    }
+
+    /**
+     * Whether any slot holds a plant, either as a bound entity or as a recorded plant id.
+     */
+    public boolean hasPlants() {
+        return hasAttachedEntities() || getPlantMask() != 0;
     }
 
     public boolean hasAttachedEntities() {
-        return !attachedEntities.isEmpty();
+        return getOccupancy() != 0;
     }
 
     // Legacy compatibility methods
     @Deprecated
     @Nullable
     public UUID getAttachedEntity() {
-        return attachedEntities.isEmpty() ? null : attachedEntities.get(0);
+        return hasAttachedEntities() ? getAttachedEntity(Integer.numberOfTrailingZeros(getOccupancy())) : null;
     }
 
     @Deprecated
     public void setAttachedEntity(@Nullable UUID attachedEntity) {
-        this.attachedEntities.clear();
+        clearAttachedEntities();
         if (attachedEntity != null) {
-            this.attachedEntities.add(attachedEntity);
+            setAttachedEntityAt(0, attachedEntity);
         }
     }
 
     @Deprecated
     public boolean hasAttachedEntity() {
-        return !attachedEntities.isEmpty();
+        return hasAttachedEntities();
+    }
+
+    /**
+     * Grows storage for a change made at runtime. Occupancy bits of slots that had no storage are stale
+     * once decoding has finished, so they are dropped before growing into those slots.
+     */
+    private void growSlots(int slots) {
+        if (slots > mostSigBits.length) {
+            this.occupancy = getOccupancy();
+        }
+        ensureSlots(slots);
+    }
+
+    /**
+     * Grows every per-slot array to at least the given number of slots. Never touches the occupancy,
+     * so the codec setters can call it in any order.
+     */
+    private void ensureSlots(int slots) {
+        if (slots > mostSigBits.length) {
+            this.mostSigBits = Arrays.copyOf(this.mostSigBits, slots);
+            this.leastSigBits = Arrays.copyOf(this.leastSigBits, slots);
+        }
+        if (slots > plantItemIds.length) {
+            int previous = plantItemIds.length;
+            this.plantItemIds = Arrays.copyOf(this.plantItemIds, slots);
+            Arrays.fill(this.plantItemIds, previous, slots, NO_PLANT);
+        }
+        if (slots > plantSeeds.length) {
+            this.plantSeeds = Arrays.copyOf(this.plantSeeds, slots);
+        }
+    }
+
+    private static int slotMask(int slots) {
+        return slots >= MAX_SLOTS ? -1 : (1 << slots) - 1;
     }
 
     @Override
     public Component<ChunkStore> clone() {
-        return new BoundPlantEntityComponent(this.attachedEntities);
+        return new BoundPlantEntityComponent(this.mostSigBits.clone(), this.leastSigBits.clone(), getOccupancy(), this.plantItemIds.clone(), this.plantSeeds.clone());
     }
 }
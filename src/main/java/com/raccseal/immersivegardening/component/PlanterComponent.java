@@ -0,0 +1,55 @@
+package com.raccseal.immersivegardening.component;
+
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+
+/**
+ * Component declared on planter block types in their item JSON (BlockType.BlockEntity.Components).
+ * Holds the unrotated plant slot offsets relative to the block's center column, so new planter shapes
+ * only need a JSON change. The block type's template instance is the source for {@code PlanterSlotLayouts}.
+ * <p>
+ * The layout belongs to the block type, so it is only read from the asset and never written back:
+ * planter block entities in the world don't save their own copy of it.
+ */
+public class PlanterComponent implements Component<ChunkStore> {
+    public static final BuilderCodec<PlanterComponent> CODEC = BuilderCodec.builder(PlanterComponent.class, PlanterComponent::new)
+            // Read only, the layout comes from the block type template and is not stored per planter
+            .append(new KeyedCodec<>("Slots", new ArrayCodec<>(Vector3d.CODEC, Vector3d[]::new)),
+                    PlanterComponent::setSlots,
+                    component -> null)
+            .add()
+            .build();
+
+    private static final Vector3d[] NO_SLOTS = new Vector3d[0];
+
+    private Vector3d[] slots;
+
+    public PlanterComponent() {
+        this.slots = NO_SLOTS;
+    }
+
+    public PlanterComponent(Vector3d[] slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * The slot offsets. Shared between clones, so it must not be modified.
+     */
+    public Vector3d[] getSlots() {
+        return slots;
+    }
+
+    public void setSlots(Vector3d[] slots) {
+        this.slots = slots == null ? NO_SLOTS : slots;
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public Component<ChunkStore> clone() {
+        return new PlanterComponent(this.slots);
+    }
+}
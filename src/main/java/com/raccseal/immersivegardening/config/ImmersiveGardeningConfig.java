@@ -0,0 +1,271 @@
+package com.raccseal.immersivegardening.config;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+
+/**
+ * Server owner configuration for the gardening plugin.
+ * Loaded from the plugin data folder and written back with defaults on first start.
+ */
+public class ImmersiveGardeningConfig {
+    public static final BuilderCodec<ImmersiveGardeningConfig> CODEC = BuilderCodec.builder(ImmersiveGardeningConfig.class, ImmersiveGardeningConfig::new)
+            .append(new KeyedCodec<>("ValidationPeriodTicks", Codec.INTEGER),
+                    ImmersiveGardeningConfig::setValidationPeriodTicks,
+                    ImmersiveGardeningConfig::getValidationPeriodTicks)
+            .add()
+            .append(new KeyedCodec<>("ValidationBudgetMicros", Codec.INTEGER),
+                    ImmersiveGardeningConfig::setValidationBudgetMicros,
+                    ImmersiveGardeningConfig::getValidationBudgetMicros)
+            .add()
+            .append(new KeyedCodec<>("EventDrivenOrphanDetection", Codec.BOOLEAN),
+                    ImmersiveGardeningConfig::setEventDrivenOrphanDetection,
+                    ImmersiveGardeningConfig::isEventDrivenOrphanDetection)
+            .add()
+            .append(new KeyedCodec<>("SafetyNetPeriodMultiplier", Codec.INTEGER),
+                    ImmersiveGardeningConfig::setSafetyNetPeriodMultiplier,
+                    ImmersiveGardeningConfig::getSafetyNetPeriodMultiplier)
+            .add()
+            .append(new KeyedCodec<>("BatchedPlanterDestruction", Codec.BOOLEAN),
+                    ImmersiveGardeningConfig::setBatchedPlanterDestruction,
+                    ImmersiveGardeningConfig::isBatchedPlanterDestruction)
+            .add()
+            .append(new KeyedCodec<>("ReconcileOnChunkLoad", Codec.BOOLEAN),
+                    ImmersiveGardeningConfig::setReconcileOnChunkLoad,
+                    ImmersiveGardeningConfig::isReconcileOnChunkLoad)
+            .add()
+            .append(new KeyedCodec<>("StaticPlantProps", Codec.BOOLEAN),
+                    ImmersiveGardeningConfig::setStaticPlantProps,
+                    ImmersiveGardeningConfig::isStaticPlantProps)
+            .add()
+            .append(new KeyedCodec<>("LazyDisplayMaterialization", Codec.BOOLEAN),
+                    ImmersiveGardeningConfig::setLazyDisplayMaterialization,
+                    ImmersiveGardeningConfig::isLazyDisplayMaterialization)
+            .add()
+            .append(new KeyedCodec<>("ProximityLod", Codec.BOOLEAN),
+                    ImmersiveGardeningConfig::setProximityLod,
+                    ImmersiveGardeningConfig::isProximityLod)
+            .add()
+            .append(new KeyedCodec<>("LodFullDetailDistance", Codec.DOUBLE),
+                    ImmersiveGardeningConfig::setLodFullDetailDistance,
+                    ImmersiveGardeningConfig::getLodFullDetailDistance)
+            .add()
+            .append(new KeyedCodec<>("LodCullDistance", Codec.DOUBLE),
+                    ImmersiveGardeningConfig::setLodCullDistance,
+                    ImmersiveGardeningConfig::getLodCullDistance)
+            .add()
+            .append(new KeyedCodec<>("LodUpdateIntervalTicks", Codec.INTEGER),
+                    ImmersiveGardeningConfig::setLodUpdateIntervalTicks,
+                    ImmersiveGardeningConfig::getLodUpdateIntervalTicks)
+            .add()
+            .append(new KeyedCodec<>("MaxPlanterInteractionsPerSecond", Codec.INTEGER),
+                    ImmersiveGardeningConfig::setMaxPlanterInteractionsPerSecond,
+                    ImmersiveGardeningConfig::getMaxPlanterInteractionsPerSecond)
+            .add()
+            .append(new KeyedCodec<>("PlantableCategories", new ArrayCodec<>(Codec.STRING, String[]::new)),
+                    ImmersiveGardeningConfig::setPlantableCategories,
+                    ImmersiveGardeningConfig::getPlantableCategories)
+            .add()
+            .append(new KeyedCodec<>("ExtraPlantableItems", new ArrayCodec<>(Codec.STRING, String[]::new)),
+                    ImmersiveGardeningConfig::setExtraPlantableItems,
+                    ImmersiveGardeningConfig::getExtraPlantableItems)
+            .add()
+            .append(new KeyedCodec<>("MetricsLogIntervalSeconds", Codec.INTEGER),
+                    ImmersiveGardeningConfig::setMetricsLogIntervalSeconds,
+                    ImmersiveGardeningConfig::getMetricsLogIntervalSeconds)
+            .add()
+            .build();
+
+    // Every display is validated once per period, spread evenly over the ticks of the period
+    private int validationPeriodTicks = 20;
+
+    // Upper bound on time spent validating displays in a single world tick
+    private int validationBudgetMicros = 500;
+
+    // Re-check displays when their planter block entity is removed, and only poll as a slow safety net
+    private boolean eventDrivenOrphanDetection = true;
+
+    // In event-driven mode the polling period is stretched by this factor
+    private int safetyNetPeriodMultiplier = 30;
+
+    // Collect destroyed planters during a tick and drop their plants in one pass, merged per block
+    private boolean batchedPlanterDestruction = true;
+
+    // Repair planters and displays that disagree once per chunk when it loads
+    private boolean reconcileOnChunkLoad = true;
+
+    // Show block plants as static props without dropped item components, existing displays are converted as they load
+    private boolean staticPlantProps = false;
+
+    // Keep plant state only on the planter block (item id and rotation seed per slot) and spawn non-persistent displays
+    // while its chunk is loaded. Worlds saved with full display entities are migrated as their chunks load.
+    // Only the item id is kept, so plants come back and drop as plain stacks and any extra item stack data is lost
+    private boolean lazyDisplayMaterialization = false;
+
+    // Reduce plant displays of planters far from every player, only applies with lazy display materialization
+    private boolean proximityLod = false;
+
+    // Planters closer than this to a player show all plants, up to the cull distance only the first one
+    private double lodFullDetailDistance = 32.0;
+
+    // Planters further than this from every player show no plants
+    private double lodCullDistance = 64.0;
+
+    private int lodUpdateIntervalTicks = 20;
+
+    // Planter inserts and removals a single player may do per second, 0 for no limit
+    private int maxPlanterInteractionsPerSecond = 8;
+
+    // Items in any of these categories can be put into planters
+    private String[] plantableCategories = {"Blocks.Plants"};
+
+    // Item ids that can be put into planters regardless of their categories
+    private String[] extraPlantableItems = {};
+
+    // Log a line with all runtime metrics this often, 0 disables it
+    private int metricsLogIntervalSeconds = 300;
+
+    public int getValidationPeriodTicks() {
+        return validationPeriodTicks;
+    }
+
+    public void setValidationPeriodTicks(int validationPeriodTicks) {
+        this.validationPeriodTicks = Math.max(1, validationPeriodTicks);
+    }
+
+    public int getValidationBudgetMicros() {
+        return validationBudgetMicros;
+    }
+
+    public void setValidationBudgetMicros(int validationBudgetMicros) {
+        this.validationBudgetMicros = Math.max(0, validationBudgetMicros);
+    }
+
+    public boolean isEventDrivenOrphanDetection() {
+        return eventDrivenOrphanDetection;
+    }
+
+    public void setEventDrivenOrphanDetection(boolean eventDrivenOrphanDetection) {
+        this.eventDrivenOrphanDetection = eventDrivenOrphanDetection;
+    }
+
+    public int getSafetyNetPeriodMultiplier() {
+        return safetyNetPeriodMultiplier;
+    }
+
+    public void setSafetyNetPeriodMultiplier(int safetyNetPeriodMultiplier) {
+        this.safetyNetPeriodMultiplier = Math.max(1, safetyNetPeriodMultiplier);
+    }
+
+    public boolean isBatchedPlanterDestruction() {
+        return batchedPlanterDestruction;
+    }
+
+    public void setBatchedPlanterDestruction(boolean batchedPlanterDestruction) {
+        this.batchedPlanterDestruction = batchedPlanterDestruction;
+    }
+
+    public boolean isReconcileOnChunkLoad() {
+        return reconcileOnChunkLoad;
+    }
+
+    public void setReconcileOnChunkLoad(boolean reconcileOnChunkLoad) {
+        this.reconcileOnChunkLoad = reconcileOnChunkLoad;
+    }
+
+    public boolean isStaticPlantProps() {
+        return staticPlantProps;
+    }
+
+    public void setStaticPlantProps(boolean staticPlantProps) {
+        this.staticPlantProps = staticPlantProps;
+    }
+
+    public boolean isLazyDisplayMaterialization() {
+        return lazyDisplayMaterialization;
+    }
+
+    public void setLazyDisplayMaterialization(boolean lazyDisplayMaterialization) {
+        this.lazyDisplayMaterialization = lazyDisplayMaterialization;
+    }
+
+    public boolean isProximityLod() {
+        return proximityLod;
+    }
+
+    public void setProximityLod(boolean proximityLod) {
+        this.proximityLod = proximityLod;
+    }
+
+    public double getLodFullDetailDistance() {
+        return lodFullDetailDistance;
+    }
+
+    public void setLodFullDetailDistance(double lodFullDetailDistance) {
+        this.lodFullDetailDistance = Math.max(0.0, lodFullDetailDistance);
+    }
+
+    public double getLodCullDistance() {
+        return lodCullDistance;
+    }
+
+    public void setLodCullDistance(double lodCullDistance) {
+        this.lodCullDistance = Math.max(0.0, lodCullDistance);
+    }
+
+    public int getLodUpdateIntervalTicks() {
+        return lodUpdateIntervalTicks;
+    }
+
+    public void setLodUpdateIntervalTicks(int lodUpdateIntervalTicks) {
+        this.lodUpdateIntervalTicks = Math.max(1, lodUpdateIntervalTicks);
+    }
+
+    public int getMaxPlanterInteractionsPerSecond() {
+        return maxPlanterInteractionsPerSecond;
+    }
+
+    public void setMaxPlanterInteractionsPerSecond(int maxPlanterInteractionsPerSecond) {
+        this.maxPlanterInteractionsPerSecond = Math.max(0, maxPlanterInteractionsPerSecond);
+    }
+
+    public String[] getPlantableCategories() {
+        return plantableCategories;
+    }
+
+    public void setPlantableCategories(String[] plantableCategories) {
+        this.plantableCategories = plantableCategories == null ? new String[0] : plantableCategories;
+    }
+
+    public String[] getExtraPlantableItems() {
+        return extraPlantableItems;
+    }
+
+    public void setExtraPlantableItems(String[] extraPlantableItems) {
+        this.extraPlantableItems = extraPlantableItems == null ? new String[0] : extraPlantableItems;
+    }
+
+    public int getMetricsLogIntervalSeconds() {
+        return metricsLogIntervalSeconds;
+    }
+
+    public void setMetricsLogIntervalSeconds(int metricsLogIntervalSeconds) {
+        this.metricsLogIntervalSeconds = Math.max(0, metricsLogIntervalSeconds);
+    }
+
+    /**
+     * Whether proximity LOD is actually in effect. Culled plants are restored from the planter block entity,
+     * so this needs lazy display materialization.
+     */
+    public boolean isProximityLodActive() {
+        return proximityLod && lazyDisplayMaterialization;
+    }
+
+    /**
+     * The period actually used for polling validation, taking the orphan detection mode into account.
+     */
+    public int getEffectiveValidationPeriodTicks() {
+        return eventDrivenOrphanDetection ? validationPeriodTicks * safetyNetPeriodMultiplier : validationPeriodTicks;
+    }
+}
@@ -2,13 +2,17 @@ package com.raccseal.immersivegardening.interaction;
 
 import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
 import com.raccseal.immersivegardening.component.BoundPlantEntityComponent;
-import com.raccseal.immersivegardening.component.PlantDisplayComponent;
+import com.raccseal.immersivegardening.resource.PlanterInteractionQueue;
+import com.raccseal.immersivegardening.resource.PlanterLodState;
 import com.raccseal.immersivegardening.util.PlantDisplayUtil;
+import com.raccseal.immersivegardening.util.PlantDropService;
+import com.raccseal.immersivegardening.util.PlantableItems;
+import com.raccseal.immersivegardening.util.PlanterInteractionChecks;
+import com.raccseal.immersivegardening.util.PlanterSlotLayouts;
 
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.component.RemoveReason;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.util.ChunkUtil;
@@ -32,7 +36,6 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.jspecify.annotations.Nullable;
 import org.jspecify.annotations.NonNull;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -45,10 +48,26 @@ public class PlanterInsertPlantInteraction extends SimpleBlockInteraction {
 
     @Override
     protected void interactWithBlock(@NonNull World world, @NonNull CommandBuffer<EntityStore> commandBuffer, @NonNull InteractionType type, @NonNull InteractionContext context, @Nullable ItemStack itemInHand, @NonNull Vector3i targetBlock, @NonNull CooldownHandler cooldownHandler) {
+        long start = System.nanoTime();
+        try {
+            insertPlant(world, commandBuffer, context, targetBlock);
+        } finally {
+            ImmersiveGardeningPlugin.get().getMetrics().getInsertInteraction().recordSince(start);
+        }
+    }
+
+    private void insertPlant(World world, CommandBuffer<EntityStore> commandBuffer, InteractionContext context, Vector3i targetBlock) {
+        // Rate limit before any lookup, so held down use buttons stay cheap
+        PlanterInteractionQueue interactionQueue = world.getEntityStore().getStore().getResource(ImmersiveGardeningPlugin.get().getPlanterInteractionQueue());
+        if (!interactionQueue.tryAcquire(context.getEntity(), System.nanoTime(), ImmersiveGardeningPlugin.get().getGardeningConfig().getMaxPlanterInteractionsPerSecond())) {
+            context.getState().state = InteractionState.Failed;
+            return;
+        }
+
         ItemStack heldItem = context.getHeldItem();
 
-        // Accept items that ARE plants (must contain "Blocks.Plants" category)
-        if (heldItem == null || !Arrays.asList(heldItem.getItem().getCategories()).contains("Blocks.Plants")) {
+        // Accept items that ARE plants (a plantable category like "Blocks.Plants", or listed in the config)
+        if (!PlantableItems.isPlantable(heldItem)) {
             context.getState().state = InteractionState.Failed;
             return;
         }
@@ -58,7 +77,7 @@ public class PlanterInsertPlantInteraction extends SimpleBlockInteraction {
         int z = targetBlock.getZ();
         long indexChunk = ChunkUtil.indexChunkFromBlock(x, z);
 
-        WorldChunk worldchunk = world.getChunk(indexChunk);
+        WorldChunk worldchunk = world.getChunkIfLoaded(indexChunk);
         if (worldchunk == null) {
             context.getState().state = InteractionState.Failed;
             return;
@@ -82,14 +101,9 @@ public class PlanterInsertPlantInteraction extends SimpleBlockInteraction {
 
         Store<ChunkStore> chunkStore = world.getChunkStore().getStore();
         BoundPlantEntityComponent boundEntityComp = chunkStore.getComponent(chunkRef, ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent());
-        final int maxPlants = plantPositions(blockType.getId()).length;
-
-        if (boundEntityComp != null && boundEntityComp.hasAttachedEntities()) {
-            int currentPlantCount = boundEntityComp.getAttachedEntities().size();
-            if (currentPlantCount >= maxPlants) {
-                context.getState().state = InteractionState.Failed;
-                return;
-            }
+        if (!PlanterInteractionChecks.hasFreeSlot(world.getEntityStore().getStore(), blockType, boundEntityComp, targetBlock)) {
+            context.getState().state = InteractionState.Failed;
+            return;
         }
 
         ItemContainer heldItemContainer = context.getHeldItemContainer();
@@ -101,116 +115,93 @@ public class PlanterInsertPlantInteraction extends SimpleBlockInteraction {
 
         short heldItemSlot = context.getHeldItemSlot();
         ItemStack plantToStore = heldItem.withQuantity(1);
-        Vector3d[] allEntityOffsets = plantPositions(blockType.getId());
 
+        // Offsets are already rotated to align with the block rotation
         int rotation = worldchunk.getRotationIndex(targetBlock.x, targetBlock.y, targetBlock.z);
+        Vector3d[] allEntityOffsets = PlanterSlotLayouts.getSlots(blockType, rotation);
+
+        PlanterInteractionQueue.PendingInsert insert = new PlanterInteractionQueue.PendingInsert(plantToStore, heldItem, heldItemContainer, heldItemSlot, context);
+        if (interactionQueue.addInsert(targetBlock, insert)) {
+            // Every insert into this planter during the tick is applied by this one command
+            Ref<ChunkStore> finalChunkRef = chunkRef;
+            commandBuffer.run((store) -> applyInserts(
+                    store,
+                    world,
+                    finalChunkRef,
+                    targetBlock,
+                    allEntityOffsets,
+                    store.getResource(ImmersiveGardeningPlugin.get().getPlanterInteractionQueue()).takeInserts(targetBlock)
+            ));
+        }
+        interactionQueue.requestBlockUpdate(targetBlock);
+    }
 
-        //Rotate entities to align with block rotation
-        int yawDegrees = -rotation * 90;
-        for (int i = 0; i < allEntityOffsets.length; i++) {
-            allEntityOffsets[i] = this.rotateOffsetByYaw(allEntityOffsets[i], yawDegrees).add(0.5, 0.0, 0.5);
-        }
-
-        Ref<ChunkStore> finalChunkRef = chunkRef;
-        commandBuffer.run((store) -> {
-            // Collect all existing plant items before removing entities
-            Store<ChunkStore> chunkstore = world.getChunkStore().getStore();
-            BoundPlantEntityComponent existingBoundComp = chunkstore.getComponent(finalChunkRef, ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent());
-            
-            List<ItemStack> existingPlantItems = new java.util.ArrayList<>();
-            
-            if (existingBoundComp != null && existingBoundComp.hasAttachedEntities()) {
-                for (UUID oldEntityUUID : new java.util.ArrayList<>(existingBoundComp.getAttachedEntities())) {
-                    Ref<EntityStore> oldEntityRef = world.getEntityRef(oldEntityUUID);
-                    if (oldEntityRef != null) {
-                        // Extract the plant item from the display component before removing the entity
-                        PlantDisplayComponent plantDisplay = store.getComponent(oldEntityRef, ImmersiveGardeningPlugin.get().getPlantDisplayComponent());
-                        if (plantDisplay != null && plantDisplay.getHeldStack() != null) {
-                            existingPlantItems.add(plantDisplay.getHeldStack());
-                        }
-                        store.removeEntity(oldEntityRef, RemoveReason.REMOVE);
-                    }
-                }
-                existingBoundComp.clearAttachedEntities();
-            }
-            
-            // Combine existing plants with the new plant
-            ItemStack[] allPlants = new ItemStack[existingPlantItems.size() + 1];
-            for (int i = 0; i < existingPlantItems.size(); i++) {
-                allPlants[i] = existingPlantItems.get(i);
-            }
-            allPlants[existingPlantItems.size()] = plantToStore;
-
-            // Only use as many offsets as we have plants, but never more than available slots
-            int entitiesToCreate = Math.min(allPlants.length, allEntityOffsets.length);
-            Vector3d[] limitedOffsets = new Vector3d[entitiesToCreate];
-            System.arraycopy(allEntityOffsets, 0, limitedOffsets, 0, entitiesToCreate);
-            ItemStack[] limitedPlants = new ItemStack[entitiesToCreate];
-            System.arraycopy(allPlants, 0, limitedPlants, 0, entitiesToCreate);
-
-
-            UUID[] newEntityUUIDs = PlantDisplayUtil.remakePlantEntities(store, null, limitedPlants, targetBlock, limitedOffsets);
-
-            if (newEntityUUIDs == null || newEntityUUIDs.length == 0) {
-                context.getState().state = InteractionState.Failed;
-                LOGGER.atWarning().log("Failed to create plant display entity");
-                return;
-            }
+    /**
+     * Applies the inserts collected for a planter during the tick, in order, filling the free slots one after another.
+     * Only the new plants get an entity, existing plants keep their entities and rotations.
+     */
+    private static void applyInserts(Store<EntityStore> store, World world, Ref<ChunkStore> chunkRef, Vector3i targetBlock, Vector3d[] offsets, List<PlanterInteractionQueue.PendingInsert> inserts) {
+        Store<ChunkStore> chunkstore = world.getChunkStore().getStore();
+        BoundPlantEntityComponent boundComp = chunkstore.getComponent(chunkRef, ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent());
+        boolean created = boundComp == null;
+        if (created) {
+            boundComp = new BoundPlantEntityComponent();
+        }
 
-            BoundPlantEntityComponent newBoundComp = chunkstore.getComponent(finalChunkRef, ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent());
-
-            if (newBoundComp == null) {
-                List<UUID> uuidList = new java.util.ArrayList<>();
-                for (UUID uuid : newEntityUUIDs) {
-                    if (uuid != null) {
-                        uuidList.add(uuid);
-                    }
-                }
-                chunkstore.putComponent(finalChunkRef, ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent(), new BoundPlantEntityComponent(uuidList));
-            } else {
-                int addedCount = 0;
-                for (UUID newEntityUUID : newEntityUUIDs) {
-                    if (newEntityUUID != null) {
-                        newBoundComp.addAttachedEntity(newEntityUUID);
-                        addedCount++;
-                    }
-                }
+        int usedSlots = PlanterInteractionChecks.usedSlotMask(store, boundComp, targetBlock);
+        boolean inserted = false;
+        for (PlanterInteractionQueue.PendingInsert insert : inserts) {
+            int slot = PlanterInteractionChecks.nextFreeSlot(usedSlots);
+            if (slot >= offsets.length) {
+                insert.context().getState().state = InteractionState.Failed;
+                continue;
             }
 
-            ItemStackSlotTransaction transaction = heldItemContainer.removeItemStackFromSlot(heldItemSlot, heldItem, 1);
+            // Take the plant first: inserts of the same tick share the held stack they saw, so a player holding
+            // a single plant must not be able to fill several slots with it
+            ItemStackSlotTransaction transaction = insert.container().removeItemStackFromSlot(insert.containerSlot(), insert.heldItem(), 1);
             if (!transaction.succeeded()) {
-                context.getState().state = InteractionState.Failed;
-                LOGGER.atWarning().log("Failed to remove item from player inventory");
+                insert.context().getState().state = InteractionState.Failed;
+                continue;
             }
 
-        });
-        world.performBlockUpdate(x, y, z);
-    }
+            int seed = PlantDisplayUtil.newPlantSeed();
+            UUID[] newEntityUUIDs = PlantDisplayUtil.remakePlantEntities(store, null, insert.plant(), targetBlock, offsets[slot], seed);
+            if (newEntityUUIDs == null || newEntityUUIDs.length == 0 || newEntityUUIDs[0] == null) {
+                insert.context().getState().state = InteractionState.Failed;
+                LOGGER.atWarning().log("Failed to create plant display entity");
+                // The plant already left the inventory, hand it back as a drop
+                PlantDropService.queueDrop(store, targetBlock, insert.plant());
+                continue;
+            }
 
-    protected void simulateInteractWithBlock(@NonNull InteractionType type, @NonNull InteractionContext context, @Nullable ItemStack itemInHand, @NonNull World world, @NonNull Vector3i targetBlock) {
-        //No-op since client side prediction isn't necessary for this interaction
-    }
+            boundComp.setAttachedEntityAt(slot, newEntityUUIDs[0]);
+            boundComp.setPlantItemId(slot, insert.plant().getItemId());
+            boundComp.setPlantSeed(slot, seed);
+            usedSlots |= 1 << slot;
+            inserted = true;
+        }
 
-    private Vector3d rotateOffsetByYaw(Vector3d offset, int yawDegrees) {
-        double radians = Math.toRadians(yawDegrees);
-        double cos = Math.cos(radians);
-        double sin = Math.sin(radians);
-        double rotatedX = offset.getX() * cos - offset.getZ() * sin;
-        double rotatedZ = offset.getX() * sin + offset.getZ() * cos;
-        return new Vector3d(rotatedX, offset.getY(), rotatedZ);
+        if (!inserted) {
+            return;
+        }
+        if (created) {
+            chunkstore.putComponent(chunkRef, ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent(), boundComp);
+        }
+        if (ImmersiveGardeningPlugin.get().getGardeningConfig().isProximityLodActive()) {
+            // The player is right next to the planter, so it is at full detail now
+            store.getResource(ImmersiveGardeningPlugin.get().getPlanterLodState()).setLevel(targetBlock, PlanterLodState.LEVEL_FULL);
+        }
     }
 
-
-    private Vector3d[] plantPositions(String blockId) {
-        if(blockId.contains("Tall")) {
-            return new Vector3d[]{new Vector3d(0.3, 0.9, -0.35), new Vector3d(0.0, 0.9, -0.35), new Vector3d(-0.3, 0.9, -0.35)};
-        }
-        else if(blockId.contains("Pot")) {
-            if(blockId.contains("Small")) {
-                return new Vector3d[]{new Vector3d(0.0, 0.45, 0.0)};
-            }
-            return new Vector3d[]{new Vector3d(0.0, 0.55, 0.0)};
+    /**
+     * Predicts the insert with the same checks as the authoritative path, without changing anything,
+     * so an insert that can't succeed fails right away instead of one round trip later.
+     * The authoritative path still fails the interaction if the outcome differs.
+     */
+    protected void simulateInteractWithBlock(@NonNull InteractionType type, @NonNull InteractionContext context, @Nullable ItemStack itemInHand, @NonNull World world, @NonNull Vector3i targetBlock) {
+        if (!PlanterInteractionChecks.canInsert(world, targetBlock, context.getHeldItem())) {
+            context.getState().state = InteractionState.Failed;
         }
-        return new Vector3d[]{new Vector3d(0.0, 0.5, 0.0)};
     }
 }
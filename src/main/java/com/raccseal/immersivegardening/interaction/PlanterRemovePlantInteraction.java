@@ -2,21 +2,23 @@ package com.raccseal.immersivegardening.interaction;
 import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
 import com.raccseal.immersivegardening.component.BoundPlantEntityComponent;
 import com.raccseal.immersivegardening.component.PlantDisplayComponent;
+import com.raccseal.immersivegardening.resource.PlantDisplayIndex;
+import com.raccseal.immersivegardening.resource.PlanterInteractionQueue;
+import com.raccseal.immersivegardening.util.PlantDisplayProperties;
 import com.raccseal.immersivegardening.util.PlantDisplayUtil;
+import com.raccseal.immersivegardening.util.PlantDropService;
+import com.raccseal.immersivegardening.util.PlanterInteractionChecks;
 
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.*;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.util.ChunkUtil;
-import com.hypixel.hytale.math.vector.Vector3d;
-import com.hypixel.hytale.math.vector.Vector3f;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.protocol.InteractionState;
 import com.hypixel.hytale.protocol.InteractionType;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.modules.block.BlockModule;
-import com.hypixel.hytale.server.core.modules.entity.item.ItemComponent;
 import com.hypixel.hytale.server.core.modules.interaction.interaction.CooldownHandler;
 import com.hypixel.hytale.server.core.modules.interaction.interaction.config.client.SimpleBlockInteraction;
 import com.hypixel.hytale.server.core.entity.InteractionContext;
@@ -28,8 +30,6 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.jspecify.annotations.Nullable;
 import org.jspecify.annotations.NonNull;
 
-import java.util.UUID;
-
 
 // Suppress deprecated warning because getBlockRotation is deprecated and has no replacement afaik
 @SuppressWarnings({"deprecation"})
@@ -39,6 +39,22 @@ public class PlanterRemovePlantInteraction extends SimpleBlockInteraction {
 
     @Override
     protected void interactWithBlock(@NonNull World world, @NonNull CommandBuffer<EntityStore> commandBuffer, @NonNull InteractionType type, @NonNull InteractionContext context, @Nullable ItemStack itemInHand, @NonNull Vector3i targetBlock, @NonNull CooldownHandler cooldownHandler) {
+        long start = System.nanoTime();
+        try {
+            removePlant(world, commandBuffer, context, targetBlock);
+        } finally {
+            ImmersiveGardeningPlugin.get().getMetrics().getRemoveInteraction().recordSince(start);
+        }
+    }
+
+    private void removePlant(World world, CommandBuffer<EntityStore> commandBuffer, InteractionContext context, Vector3i targetBlock) {
+        // Rate limit before any lookup, so held down use buttons stay cheap
+        PlanterInteractionQueue interactionQueue = world.getEntityStore().getStore().getResource(ImmersiveGardeningPlugin.get().getPlanterInteractionQueue());
+        if (!interactionQueue.tryAcquire(context.getEntity(), System.nanoTime(), ImmersiveGardeningPlugin.get().getGardeningConfig().getMaxPlanterInteractionsPerSecond())) {
+            context.getState().state = InteractionState.Failed;
+            return;
+        }
+
         int x = targetBlock.getX();
         int y = targetBlock.getY();
         int z = targetBlock.getZ();
@@ -69,40 +85,46 @@ public class PlanterRemovePlantInteraction extends SimpleBlockInteraction {
         Store<ChunkStore> chunkStore = world.getChunkStore().getStore();
         BoundPlantEntityComponent boundEntityComp = chunkStore.getComponent(chunkRef, ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent());
 
-        if (boundEntityComp != null && boundEntityComp.hasAttachedEntities()) {
+        if (PlanterInteractionChecks.hasPlants(boundEntityComp)) {
 
             // Remove all attached entities and drop their plants
-            for (UUID entityUUID : new java.util.ArrayList<>(boundEntityComp.getAttachedEntities())) {
-                Ref<EntityStore> entityRef = world.getEntityRef(entityUUID);
-                if (entityRef != null) {
-                    // Get the display component for THIS specific entity to get its plant
-                    PlantDisplayComponent displayComp = commandBuffer.getComponent(entityRef, ImmersiveGardeningPlugin.get().getPlantDisplayComponent());
-                    if (displayComp != null && displayComp.getHeldStack() != null) {
-                        ItemStack storedPlant = displayComp.getHeldStack();
-                        this.spawnItemDrop(commandBuffer, storedPlant, targetBlock);
+            Store<EntityStore> entityStore = world.getEntityStore().getStore();
+            if (ImmersiveGardeningPlugin.get().getGardeningConfig().isLazyDisplayMaterialization()) {
+                // Plants recorded on the planter whose display is not spawned right now
+                int unmaterialized = boundEntityComp.getPlantMask() & ~PlantDisplayUtil.liveSlotMask(entityStore, boundEntityComp, targetBlock);
+                for (int slot = 0; slot < boundEntityComp.getSlotCount(); slot++) {
+                    String plantItemId = boundEntityComp.getPlantItemId(slot);
+                    if (plantItemId != null && (unmaterialized & (1 << slot)) != 0) {
+                        PlantDropService.queueDrop(entityStore, targetBlock, PlantDisplayProperties.of(plantItemId).getHeldStack());
                     }
-                    commandBuffer.run((store) -> PlantDisplayUtil.removePlantEntity(store, entityRef));
                 }
             }
 
+            PlantDisplayIndex displayIndex = entityStore.getResource(ImmersiveGardeningPlugin.get().getPlantDisplayIndex());
+            for (Ref<EntityStore> entityRef : displayIndex.getDisplays(targetBlock)) {
+                // Get the display component for THIS specific entity to get its plant
+                PlantDisplayComponent displayComp = commandBuffer.getComponent(entityRef, ImmersiveGardeningPlugin.get().getPlantDisplayComponent());
+                if (displayComp != null) {
+                    PlantDropService.queueDrop(entityStore, targetBlock, displayComp.getHeldStack());
+                }
+                commandBuffer.run((store) -> PlantDisplayUtil.removePlantEntity(store, entityRef));
+            }
+
             boundEntityComp.clearAttachedEntities();
-            world.performBlockUpdate(x, y, z);
+            interactionQueue.requestBlockUpdate(targetBlock);
         }
         else {
             context.getState().state = InteractionState.Failed;
         }
     }
 
-    private void spawnItemDrop(CommandBuffer<EntityStore> commandBuffer, ItemStack itemStack, Vector3i blockPos) {
-        Vector3d dropPosition = blockPos.toVector3d().add(0.0, 1.1, 0.0);
-        Holder<EntityStore> itemHolder = ItemComponent.generateItemDrop(commandBuffer, itemStack, dropPosition, Vector3f.ZERO, 0.0F, 0.0F, 0.0F);
-        if (itemHolder != null) {
-            commandBuffer.addEntity(itemHolder, AddReason.SPAWN);
-        }
-
-    }
-
+    /**
+     * Predicts the removal with the same check as the authoritative path, without changing anything,
+     * so removing from an empty planter fails right away instead of one round trip later.
+     */
     protected void simulateInteractWithBlock(@NonNull InteractionType type, @NonNull InteractionContext context, @Nullable ItemStack itemInHand, @NonNull World world, @NonNull Vector3i targetBlock) {
-        //No-op since client side prediction isn't necessary for this interaction
+        if (!PlanterInteractionChecks.canRemove(world, targetBlock)) {
+            context.getState().state = InteractionState.Failed;
+        }
     }
 }
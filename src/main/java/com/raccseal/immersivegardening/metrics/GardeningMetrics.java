@@ -0,0 +1,162 @@
+package com.raccseal.immersivegardening.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plugin wide runtime metrics: counters and latency histograms recorded from the world threads,
+ * plus the live planter and display counts each world publishes periodically.
+ * All recording is lock-free, readers get approximately consistent values.
+ */
+public class GardeningMetrics {
+    private final LongAdder displaysSpawned = new LongAdder();
+    private final LongAdder displaysRemoved = new LongAdder();
+    private final LongAdder displaysUnloaded = new LongAdder();
+    private final LongAdder orphansReaped = new LongAdder();
+    private final LongAdder blockTypeChecks = new LongAdder();
+
+    private final LatencyHistogram breakPlanter = new LatencyHistogram();
+    // Batched planter destruction, once per drained batch and once per planter in it
+    private final LatencyHistogram destructionBatch = new LatencyHistogram();
+    private final LatencyHistogram destroyPlanter = new LatencyHistogram();
+    private final LatencyHistogram insertInteraction = new LatencyHistogram();
+    private final LatencyHistogram removeInteraction = new LatencyHistogram();
+
+    private final Map<String, WorldCounts> worlds = new ConcurrentHashMap<>();
+    private final AtomicLong lastLogNanos = new AtomicLong(System.nanoTime());
+
+    public void displaySpawned() {
+        displaysSpawned.increment();
+    }
+
+    public void displayRemoved() {
+        displaysRemoved.increment();
+    }
+
+    /**
+     * A display left the world together with its chunk.
+     */
+    public void displayUnloaded() {
+        displaysUnloaded.increment();
+    }
+
+    public void orphanReaped() {
+        orphansReaped.increment();
+    }
+
+    public void blockTypeChecked() {
+        blockTypeChecks.increment();
+    }
+
+    public LatencyHistogram getBreakPlanter() {
+        return breakPlanter;
+    }
+
+    public LatencyHistogram getDestructionBatch() {
+        return destructionBatch;
+    }
+
+    public LatencyHistogram getDestroyPlanter() {
+        return destroyPlanter;
+    }
+
+    public LatencyHistogram getInsertInteraction() {
+        return insertInteraction;
+    }
+
+    public LatencyHistogram getRemoveInteraction() {
+        return removeInteraction;
+    }
+
+    /**
+     * Publishes the counts of a world, replacing its previous values.
+     */
+    public void publishWorld(String worldName, WorldCounts counts) {
+        worlds.put(worldName, counts);
+    }
+
+    /**
+     * Claims the next periodic log line. Every world thread asks, only one gets it per interval.
+     *
+     * @return Whether the caller should log now
+     */
+    public boolean tryClaimLogLine(long nowNanos, long intervalNanos) {
+        long last = lastLogNanos.get();
+        return nowNanos - last >= intervalNanos && lastLogNanos.compareAndSet(last, nowNanos);
+    }
+
+    public long getDisplaysSpawned() {
+        return displaysSpawned.sum();
+    }
+
+    public long getDisplaysRemoved() {
+        return displaysRemoved.sum();
+    }
+
+    public long getDisplaysUnloaded() {
+        return displaysUnloaded.sum();
+    }
+
+    public long getOrphansReaped() {
+        return orphansReaped.sum();
+    }
+
+    public long getBlockTypeChecks() {
+        return blockTypeChecks.sum();
+    }
+
+    /**
+     * Last published live counts per world, sorted by world name.
+     */
+    public Map<String, WorldCounts> getWorlds() {
+        return new TreeMap<>(worlds);
+    }
+
+    /**
+     * Single line key=value summary of every metric, for the periodic log line.
+     */
+    public String toLogLine() {
+        StringBuilder line = new StringBuilder("gardening_metrics")
+                .append(" displays_spawned=").append(getDisplaysSpawned())
+                .append(" displays_removed=").append(getDisplaysRemoved())
+                .append(" displays_unloaded=").append(getDisplaysUnloaded())
+                .append(" orphans_reaped=").append(getOrphansReaped())
+                .append(" block_type_checks=").append(getBlockTypeChecks());
+        appendHistogram(line, "break_planter", breakPlanter.snapshot());
+        appendHistogram(line, "destruction_batch", destructionBatch.snapshot());
+        appendHistogram(line, "destroy_planter", destroyPlanter.snapshot());
+        appendHistogram(line, "insert_plant", insertInteraction.snapshot());
+        appendHistogram(line, "remove_plant", removeInteraction.snapshot());
+        getWorlds().forEach((world, counts) -> line
+                .append(" world.").append(world).append(".planters=").append(counts.planters())
+                .append(" world.").append(world).append(".displays=").append(counts.displays())
+                .append(" world.").append(world).append(".chunks_reconciled=").append(counts.chunksReconciled())
+                .append(" world.").append(world).append(".chunks_pending_reconciliation=").append(counts.chunksPendingReconciliation())
+                .append(" world.").append(world).append(".dangling_slots_repaired=").append(counts.danglingSlotsRepaired())
+                .append(" world.").append(world).append(".displays_rebound=").append(counts.displaysRebound())
+                .append(" world.").append(world).append(".orphan_displays_removed=").append(counts.orphanDisplaysRemoved()));
+        return line.toString();
+    }
+
+    private static void appendHistogram(StringBuilder line, String name, LatencyHistogram.Snapshot snapshot) {
+        line.append(' ').append(name).append(".count=").append(snapshot.getCount())
+                .append(' ').append(name).append(".mean_us=").append(snapshot.getMeanNanos() / 1000)
+                .append(' ').append(name).append(".p99_us=").append(snapshot.getPercentileNanos(99) / 1000)
+                .append(' ').append(name).append(".max_us=").append(snapshot.getMaxNanos() / 1000);
+    }
+
+    /**
+     * Counts of a world: planters with at least one display, display entities, and chunk load reconciliation progress.
+     */
+    public record WorldCounts(int planters,
+                              int displays,
+                              long chunksReconciled,
+                              int chunksPendingReconciliation,
+                              long danglingSlotsRepaired,
+                              long displaysRebound,
+                              long orphanDisplaysRemoved) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.raccseal.immersivegardening.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power of two nanosecond buckets.
+ * Recording is a handful of atomic increments, so it can sit on tick paths.
+ * Percentiles are reported as the upper bound of their bucket, which is precise to a factor of two.
+ */
+public class LatencyHistogram {
+    // Bucket i holds samples in [2^(i-1), 2^i) ns, the last one everything from ~1s up
+    private static final int BUCKETS = 32;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long clamped = Math.max(nanos, 0L);
+        buckets.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(clamped), BUCKETS - 1));
+        totalNanos.add(clamped);
+        maxNanos.accumulateAndGet(clamped, Math::max);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, as returned by {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        return new Snapshot(counts, total, totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * Point in time copy of a histogram. Buckets are read one by one, so it is only approximately consistent.
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMeanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Upper bound of the bucket holding the given percentile, capped at the maximum recorded value.
+         *
+         * @param percentile Between 0 and 100
+         */
+        public long getPercentileNanos(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(i == 0 ? 0 : (1L << i) - 1, maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        /**
+         * Compact summary in microseconds: count, mean, p50, p99 and max.
+         */
+        public String toSummary() {
+            return String.format("n=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus",
+                    count,
+                    getMeanNanos() / 1000.0,
+                    getPercentileNanos(50) / 1000.0,
+                    getPercentileNanos(99) / 1000.0,
+                    maxNanos / 1000.0);
+        }
+    }
+}
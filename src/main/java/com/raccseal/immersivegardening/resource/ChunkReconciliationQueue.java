@@ -0,0 +1,143 @@
+package com.raccseal.immersivegardening.resource;
+
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.raccseal.immersivegardening.util.PlanterPositionUtil;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-world queue of planter positions to reconcile, grouped by the chunk holding the planter.
+ * Positions are reported as planter block entities and display entities load with their chunk,
+ * and each chunk is reconciled once in a single pass on the following tick, when the whole chunk is in.
+ * <p>
+ * Display entities of a chunk can still be loading at that point, so slots whose display is missing are not
+ * respawned right away. They are scheduled here and only respawned once a validation period has passed,
+ * if their display still hasn't shown up by then.
+ * Also keeps the progress and repair counts of this world.
+ */
+public class ChunkReconciliationQueue implements Resource<EntityStore> {
+    private Map<Long, Set<Long>> queued = new HashMap<>();
+    // Packed planter position to the slots awaiting respawn and the tick they are due
+    private final Map<Long, PendingRespawn> pendingRespawns = new HashMap<>();
+    private long currentTick;
+
+    private long chunksReconciled;
+    private long danglingSlotsRepaired;
+    private long displaysRebound;
+    private long orphanDisplaysRemoved;
+
+    public void enqueue(Vector3i planterPosition) {
+        long chunkIndex = ChunkUtil.indexChunkFromBlock(planterPosition.getX(), planterPosition.getZ());
+        queued.computeIfAbsent(chunkIndex, key -> new HashSet<>()).add(PlanterPositionUtil.pack(planterPosition));
+    }
+
+    public boolean isEmpty() {
+        return queued.isEmpty();
+    }
+
+    /**
+     * Starts a new world tick, the clock pending respawns are due by.
+     */
+    public void advanceTick() {
+        currentTick++;
+    }
+
+    /**
+     * Schedules respawning the displays of the planter's slots once {@code delayTicks} have passed.
+     * Scheduling the same planter again merges the slots and keeps the later due tick.
+     */
+    public void scheduleRespawn(Vector3i planterPosition, int slots, int delayTicks) {
+        long dueTick = currentTick + Math.max(1, delayTicks);
+        pendingRespawns.merge(PlanterPositionUtil.pack(planterPosition), new PendingRespawn(slots, dueTick),
+                (existing, added) -> new PendingRespawn(existing.slots() | added.slots(), Math.max(existing.dueTick(), added.dueTick())));
+    }
+
+    public boolean hasPendingRespawns() {
+        return !pendingRespawns.isEmpty();
+    }
+
+    /**
+     * Takes the respawns that are due, mapped from packed planter position to the slots to respawn.
+     */
+    public Map<Long, Integer> drainDueRespawns() {
+        Map<Long, Integer> due = new HashMap<>();
+        Iterator<Map.Entry<Long, PendingRespawn>> iterator = pendingRespawns.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, PendingRespawn> entry = iterator.next();
+            if (entry.getValue().dueTick() <= currentTick) {
+                due.put(entry.getKey(), entry.getValue().slots());
+                iterator.remove();
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Takes every queued chunk, mapped to the packed positions of the planters to reconcile in it.
+     */
+    public Map<Long, Set<Long>> drain() {
+        Map<Long, Set<Long>> drained = queued;
+        queued = new HashMap<>();
+        return drained;
+    }
+
+    public int getPendingChunks() {
+        return queued.size();
+    }
+
+    /**
+     * Records a reconciled chunk.
+     *
+     * @param reboundDisplays Displays bound to a slot of their planter that didn't reference them
+     * @param orphanDisplays  Displays removed
+     */
+    public void recordChunk(int reboundDisplays, int orphanDisplays) {
+        chunksReconciled++;
+        displaysRebound += reboundDisplays;
+        orphanDisplaysRemoved += orphanDisplays;
+    }
+
+    public void recordRespawnedSlots(int danglingSlots) {
+        danglingSlotsRepaired += danglingSlots;
+    }
+
+    public long getChunksReconciled() {
+        return chunksReconciled;
+    }
+
+    public long getDanglingSlotsRepaired() {
+        return danglingSlotsRepaired;
+    }
+
+    public long getDisplaysRebound() {
+        return displaysRebound;
+    }
+
+    public long getOrphanDisplaysRemoved() {
+        return orphanDisplaysRemoved;
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public Resource<EntityStore> clone() {
+        ChunkReconciliationQueue copy = new ChunkReconciliationQueue();
+        queued.forEach((chunkIndex, positions) -> copy.queued.put(chunkIndex, new HashSet<>(positions)));
+        copy.chunksReconciled = this.chunksReconciled;
+        copy.danglingSlotsRepaired = this.danglingSlotsRepaired;
+        copy.displaysRebound = this.displaysRebound;
+        copy.orphanDisplaysRemoved = this.orphanDisplaysRemoved;
+        copy.pendingRespawns.putAll(this.pendingRespawns);
+        copy.currentTick = this.currentTick;
+        return copy;
+    }
+
+    private record PendingRespawn(int slots, long dueTick) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.raccseal.immersivegardening.resource;
+
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.raccseal.immersivegardening.util.PlanterPositionUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-world plant drops collected during the current tick, keyed by block position.
+ * Identical stacks dropped at the same block are merged, so they spawn as a single item entity
+ * when {@code PlanterSystems.PlantDropFlushTick} flushes the drops.
+ */
+public class PendingPlantDrops implements Resource<EntityStore> {
+    private Map<Long, List<ItemStack>> dropsByPosition = new HashMap<>();
+
+    public void add(Vector3i blockPosition, ItemStack stack) {
+        List<ItemStack> drops = dropsByPosition.computeIfAbsent(PlanterPositionUtil.pack(blockPosition), key -> new ArrayList<>(2));
+        for (int i = 0; i < drops.size(); i++) {
+            ItemStack existing = drops.get(i);
+            if (existing.isStackableWith(stack)) {
+                drops.set(i, existing.withQuantity(existing.getQuantity() + stack.getQuantity()));
+                return;
+            }
+        }
+        drops.add(stack);
+    }
+
+    public boolean isEmpty() {
+        return dropsByPosition.isEmpty();
+    }
+
+    /**
+     * Takes all collected drops, keyed by packed block position.
+     */
+    public Map<Long, List<ItemStack>> drain() {
+        Map<Long, List<ItemStack>> drained = dropsByPosition;
+        dropsByPosition = new HashMap<>();
+        return drained;
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public Resource<EntityStore> clone() {
+        PendingPlantDrops copy = new PendingPlantDrops();
+        dropsByPosition.forEach((key, drops) -> copy.dropsByPosition.put(key, new ArrayList<>(drops)));
+        return copy;
+    }
+}
@@ -0,0 +1,68 @@
+package com.raccseal.immersivegardening.resource;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.raccseal.immersivegardening.util.PlanterPositionUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-world index from planter position to the live display entities bound to it.
+ * Maintained by {@code PlanterSystems.PlantDisplayIndexSystem} as display entities are added and removed,
+ * including removals caused by chunk unloads, so it never holds refs to unloaded entities.
+ * Lets planter break/remove paths find displays without a global UUID lookup per stored entity.
+ */
+public class PlantDisplayIndex implements Resource<EntityStore> {
+    private final Map<Long, List<Ref<EntityStore>>> displaysByPlanter = new HashMap<>();
+    private int displayCount;
+
+    public void add(Vector3i planterPosition, Ref<EntityStore> displayRef) {
+        displaysByPlanter.computeIfAbsent(PlanterPositionUtil.pack(planterPosition), key -> new ArrayList<>(3)).add(displayRef);
+        displayCount++;
+    }
+
+    public void remove(Vector3i planterPosition, Ref<EntityStore> displayRef) {
+        long key = PlanterPositionUtil.pack(planterPosition);
+        List<Ref<EntityStore>> displays = displaysByPlanter.get(key);
+        if (displays == null) {
+            return;
+        }
+        if (displays.remove(displayRef)) {
+            displayCount--;
+        }
+        if (displays.isEmpty()) {
+            displaysByPlanter.remove(key);
+        }
+    }
+
+    /**
+     * Live view of the displays bound to a planter. Copy it before removing entities synchronously.
+     */
+    public List<Ref<EntityStore>> getDisplays(Vector3i planterPosition) {
+        List<Ref<EntityStore>> displays = displaysByPlanter.get(PlanterPositionUtil.pack(planterPosition));
+        return displays == null ? Collections.emptyList() : Collections.unmodifiableList(displays);
+    }
+
+    public int getPlanterCount() {
+        return displaysByPlanter.size();
+    }
+
+    public int getDisplayCount() {
+        return displayCount;
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public Resource<EntityStore> clone() {
+        PlantDisplayIndex copy = new PlantDisplayIndex();
+        displaysByPlanter.forEach((key, displays) -> copy.displaysByPlanter.put(key, new ArrayList<>(displays)));
+        copy.displayCount = this.displayCount;
+        return copy;
+    }
+}
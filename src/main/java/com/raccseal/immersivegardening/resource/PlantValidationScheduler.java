@@ -0,0 +1,319 @@
+package com.raccseal.immersivegardening.resource;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.raccseal.immersivegardening.util.PlanterPositionUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-world scheduler that spreads plant display validation over a fixed period.
+ * Every planter with displays gets a phase slot derived from its position, so the same planter is
+ * always checked on the same tick of the period and each tick only sees roughly 1/period of all displays.
+ * Planters are kept in one bucket per phase slot, maintained as displays are added and removed,
+ * so a tick only ever visits the bucket that is due instead of every display in the world.
+ * <p>
+ * Displays of due planters are not checked right away, but queued grouped by the world chunk of their planter.
+ * The queue is worked through chunk by chunk under a per-tick time budget, so each chunk is resolved once per pass,
+ * and whatever doesn't fit the budget stays at the front of the queue to be resumed on the next tick.
+ * Checks against chunks that are not loaded are never forced through: they are set aside per chunk index
+ * and put back on the queue when that chunk loads. Displays removed in the meantime are pruned from them
+ * every few seconds, so chunks that never load again don't keep their refs around.
+ * <p>
+ * Planter positions reported dirty by block change hooks are collected during a tick and queued on the next one,
+ * regardless of their phase slot. They share the budgeted queue with due displays, so under load they can
+ * take a few ticks to be checked like everything else.
+ */
+public class PlantValidationScheduler implements Resource<EntityStore> {
+    // How often deferred checks are swept for displays that no longer exist
+    private static final int PRUNE_INTERVAL_TICKS = 200;
+
+    private long currentTick;
+    private int periodTicks = 1;
+    private long budgetNanos;
+
+    private long spentNanos;
+    private int validatedThisTick;
+    private int deferredThisTick;
+
+    private Set<Long> pendingDirty = new HashSet<>();
+    private Set<Long> activeDirty = new HashSet<>();
+
+    // Phase slot -> packed positions of the planters that have displays, sized to the current period
+    private List<Set<Long>> phaseBuckets = newBuckets(1);
+
+    // Chunk index -> packed planter position -> displays to check, in the order chunks were first queued
+    private final Map<Long, Map<Long, List<Ref<EntityStore>>>> pendingChecks = new LinkedHashMap<>();
+    private int pendingCheckCount;
+
+    // Chunk index -> packed planter position -> displays to check once that chunk is loaded again
+    private final Map<Long, Map<Long, List<Ref<EntityStore>>>> deferredChecks = new HashMap<>();
+
+    /**
+     * Starts a new world tick. Must be called once per tick before any display is validated.
+     */
+    public void beginTick(int periodTicks, long budgetNanos) {
+        this.currentTick++;
+        this.periodTicks = Math.max(1, periodTicks);
+        if (this.periodTicks != phaseBuckets.size()) {
+            rebucket();
+        }
+        this.budgetNanos = budgetNanos;
+        this.spentNanos = 0L;
+        this.validatedThisTick = 0;
+        this.deferredThisTick = 0;
+
+        // Positions marked during the previous tick become checkable now
+        Set<Long> previous = this.activeDirty;
+        previous.clear();
+        this.activeDirty = this.pendingDirty;
+        this.pendingDirty = previous;
+
+        if (currentTick % PRUNE_INTERVAL_TICKS == 0 && !deferredChecks.isEmpty()) {
+            pruneDeferred();
+        }
+    }
+
+    /**
+     * Drops deferred checks of displays that were removed while their chunk was waiting to load.
+     */
+    private void pruneDeferred() {
+        Iterator<Map<Long, List<Ref<EntityStore>>>> chunks = deferredChecks.values().iterator();
+        while (chunks.hasNext()) {
+            Map<Long, List<Ref<EntityStore>>> planters = chunks.next();
+            planters.values().removeIf(displays -> {
+                displays.removeIf(displayRef -> !displayRef.isValid());
+                return displays.isEmpty();
+            });
+            if (planters.isEmpty()) {
+                chunks.remove();
+            }
+        }
+    }
+
+    /**
+     * Marks a planter position as changed, so all displays bound to it are checked on the next tick.
+     */
+    public void markDirty(Vector3i planterPosition) {
+        pendingDirty.add(PlanterPositionUtil.pack(planterPosition));
+    }
+
+    /**
+     * Packed positions of the planters reported changed during the previous tick.
+     */
+    public Set<Long> getDirtyPlanters() {
+        return Collections.unmodifiableSet(activeDirty);
+    }
+
+    /**
+     * Packed positions of the planters whose displays are scheduled for validation on the current tick.
+     */
+    public Set<Long> getDuePlanters() {
+        return Collections.unmodifiableSet(phaseBuckets.get((int) (currentTick % periodTicks)));
+    }
+
+    /**
+     * Adds a planter to the bucket of its phase slot, called when it gets its first display.
+     */
+    public void trackPlanter(Vector3i planterPosition) {
+        phaseBuckets.get(phaseOf(planterPosition, phaseBuckets.size())).add(PlanterPositionUtil.pack(planterPosition));
+    }
+
+    /**
+     * Removes a planter from the bucket of its phase slot, called when its last display is gone.
+     */
+    public void untrackPlanter(Vector3i planterPosition) {
+        phaseBuckets.get(phaseOf(planterPosition, phaseBuckets.size())).remove(PlanterPositionUtil.pack(planterPosition));
+    }
+
+    /**
+     * Redistributes the tracked planters after the period changed.
+     */
+    private void rebucket() {
+        List<Set<Long>> buckets = newBuckets(periodTicks);
+        for (Set<Long> bucket : phaseBuckets) {
+            for (long packed : bucket) {
+                Vector3i planterPosition = new Vector3i(PlanterPositionUtil.unpackX(packed), PlanterPositionUtil.unpackY(packed), PlanterPositionUtil.unpackZ(packed));
+                buckets.get(phaseOf(planterPosition, periodTicks)).add(packed);
+            }
+        }
+        phaseBuckets = buckets;
+    }
+
+    private static List<Set<Long>> newBuckets(int periodTicks) {
+        List<Set<Long>> buckets = new ArrayList<>(periodTicks);
+        for (int phase = 0; phase < periodTicks; phase++) {
+            buckets.add(new HashSet<>());
+        }
+        return buckets;
+    }
+
+    /**
+     * Queues a display for validation against its planter. Queuing a display that is already waiting does nothing.
+     * Displays of planters that are due or dirty are queued by the validation tick itself.
+     */
+    public void enqueue(Vector3i planterPosition, Ref<EntityStore> displayRef) {
+        long chunkIndex = ChunkUtil.indexChunkFromBlock(planterPosition.getX(), planterPosition.getZ());
+        enqueue(chunkIndex, PlanterPositionUtil.pack(planterPosition), displayRef);
+    }
+
+    private void enqueue(long chunkIndex, long packedPlanterPosition, Ref<EntityStore> displayRef) {
+        List<Ref<EntityStore>> displays = pendingChecks
+                .computeIfAbsent(chunkIndex, key -> new LinkedHashMap<>())
+                .computeIfAbsent(packedPlanterPosition, key -> new ArrayList<>(3));
+        if (!displays.contains(displayRef)) {
+            displays.add(displayRef);
+            pendingCheckCount++;
+        }
+    }
+
+    /**
+     * Sets the checks of a chunk that is not loaded aside until it is.
+     * The checks must already be taken off the pending queue. Displays that are gone by now are dropped.
+     */
+    public void defer(long chunkIndex, Map<Long, List<Ref<EntityStore>>> planters) {
+        Map<Long, List<Ref<EntityStore>>> deferred = deferredChecks.computeIfAbsent(chunkIndex, key -> new HashMap<>());
+        planters.forEach((packed, displays) -> {
+            List<Ref<EntityStore>> merged = deferred.computeIfAbsent(packed, key -> new ArrayList<>(3));
+            merged.removeIf(displayRef -> !displayRef.isValid());
+            for (Ref<EntityStore> displayRef : displays) {
+                if (displayRef.isValid() && !merged.contains(displayRef)) {
+                    merged.add(displayRef);
+                }
+            }
+            if (merged.isEmpty()) {
+                deferred.remove(packed);
+            }
+        });
+        if (deferred.isEmpty()) {
+            deferredChecks.remove(chunkIndex);
+        }
+    }
+
+    /**
+     * Puts the checks deferred for a chunk back on the queue, called once the chunk is loaded.
+     */
+    public void resumeDeferred(long chunkIndex) {
+        if (deferredChecks.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Ref<EntityStore>>> deferred = deferredChecks.remove(chunkIndex);
+        if (deferred == null) {
+            return;
+        }
+        deferred.forEach((packed, displays) -> {
+            for (Ref<EntityStore> displayRef : displays) {
+                if (displayRef.isValid()) {
+                    enqueue(chunkIndex, packed, displayRef);
+                }
+            }
+        });
+    }
+
+    public int getDeferredChunkCount() {
+        return deferredChecks.size();
+    }
+
+    public boolean hasPendingChecks() {
+        return !pendingChecks.isEmpty();
+    }
+
+    /**
+     * Live view of the queued checks, grouped by chunk index and then planter position.
+     * The validation pass removes planters as it completes them and calls {@link #completed(int)} for their displays,
+     * so anything left over is where the next pass resumes.
+     */
+    public Map<Long, Map<Long, List<Ref<EntityStore>>>> getPendingChecks() {
+        return pendingChecks;
+    }
+
+    /**
+     * Whether time budget is left for another planter on this tick.
+     * Counts the queued displays as deferred once the budget has been used up.
+     */
+    public boolean tryAcquire() {
+        if (budgetNanos > 0L && spentNanos >= budgetNanos) {
+            deferredThisTick = pendingCheckCount;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records the time spent validating the given number of displays.
+     */
+    public void record(long elapsedNanos, int displays) {
+        spentNanos += elapsedNanos;
+        validatedThisTick += displays;
+    }
+
+    /**
+     * Removes the given number of displays from the pending count after their planter was taken off the queue.
+     */
+    public void completed(int displays) {
+        pendingCheckCount -= displays;
+    }
+
+    public int getPendingCheckCount() {
+        return pendingCheckCount;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int getValidatedThisTick() {
+        return validatedThisTick;
+    }
+
+    public int getDeferredThisTick() {
+        return deferredThisTick;
+    }
+
+    /**
+     * Deterministic phase slot in [0, periodTicks) for a planter position.
+     */
+    public static int phaseOf(Vector3i planterPosition, int periodTicks) {
+        int hash = planterPosition.getX() * 73856093 ^ planterPosition.getY() * 19349663 ^ planterPosition.getZ() * 83492791;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, periodTicks);
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public Resource<EntityStore> clone() {
+        PlantValidationScheduler copy = new PlantValidationScheduler();
+        copy.currentTick = this.currentTick;
+        copy.periodTicks = this.periodTicks;
+        copy.budgetNanos = this.budgetNanos;
+        copy.pendingDirty.addAll(this.pendingDirty);
+        copy.activeDirty.addAll(this.activeDirty);
+        copy.phaseBuckets = newBuckets(this.phaseBuckets.size());
+        for (int phase = 0; phase < this.phaseBuckets.size(); phase++) {
+            copy.phaseBuckets.get(phase).addAll(this.phaseBuckets.get(phase));
+        }
+        pendingChecks.forEach((chunkIndex, planters) -> {
+            Map<Long, List<Ref<EntityStore>>> plantersCopy = new LinkedHashMap<>();
+            planters.forEach((packed, displays) -> plantersCopy.put(packed, new ArrayList<>(displays)));
+            copy.pendingChecks.put(chunkIndex, plantersCopy);
+        });
+        copy.pendingCheckCount = this.pendingCheckCount;
+        deferredChecks.forEach((chunkIndex, planters) -> {
+            Map<Long, List<Ref<EntityStore>>> plantersCopy = new HashMap<>();
+            planters.forEach((packed, displays) -> plantersCopy.put(packed, new ArrayList<>(displays)));
+            copy.deferredChecks.put(chunkIndex, plantersCopy);
+        });
+        return copy;
+    }
+}
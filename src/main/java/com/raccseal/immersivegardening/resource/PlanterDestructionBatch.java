@@ -0,0 +1,68 @@
+package com.raccseal.immersivegardening.resource;
+
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.raccseal.immersivegardening.component.BoundPlantEntityComponent;
+import com.raccseal.immersivegardening.util.PlanterPositionUtil;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-world queue of planters destroyed during the current tick (broken, exploded, cleared by an area edit).
+ * Each entry keeps a copy of the planter's bound plant component, taken while its block entity was removed,
+ * so plants can still be dropped once the block entity is gone. The queue is drained once per tick
+ * and processed grouped by chunk by {@code PlanterSystems.DestructionBatchTick}.
+ * <p>
+ * Positions stay pending until processing has finished, so the validation tick leaves their displays alone.
+ */
+public class PlanterDestructionBatch implements Resource<EntityStore> {
+    private Map<Long, BoundPlantEntityComponent> queued = new HashMap<>();
+    private final Set<Long> inFlight = new HashSet<>();
+
+    /**
+     * Queues a destroyed planter.
+     *
+     * @param boundPlants A copy of the planter's bound plant component
+     */
+    public void enqueue(Vector3i planterPosition, BoundPlantEntityComponent boundPlants) {
+        queued.put(PlanterPositionUtil.pack(planterPosition), boundPlants);
+    }
+
+    public boolean isEmpty() {
+        return queued.isEmpty();
+    }
+
+    /**
+     * Whether the planter at the position is queued or being processed.
+     */
+    public boolean isPending(Vector3i planterPosition) {
+        long key = PlanterPositionUtil.pack(planterPosition);
+        return queued.containsKey(key) || inFlight.contains(key);
+    }
+
+    /**
+     * Takes every queued planter, keyed by packed position. They stay pending until {@link #complete} is called with the same map.
+     */
+    public Map<Long, BoundPlantEntityComponent> drain() {
+        Map<Long, BoundPlantEntityComponent> drained = queued;
+        queued = new HashMap<>();
+        inFlight.addAll(drained.keySet());
+        return drained;
+    }
+
+    public void complete(Map<Long, BoundPlantEntityComponent> drained) {
+        inFlight.removeAll(drained.keySet());
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public Resource<EntityStore> clone() {
+        PlanterDestructionBatch copy = new PlanterDestructionBatch();
+        copy.queued.putAll(this.queued);
+        return copy;
+    }
+}
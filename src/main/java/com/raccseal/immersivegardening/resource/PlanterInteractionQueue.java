@@ -0,0 +1,162 @@
+package com.raccseal.immersivegardening.resource;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.entity.InteractionContext;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.raccseal.immersivegardening.util.PlanterPositionUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-world coalescing of planter interactions.
+ * <ul>
+ *     <li>Inserts into the same planter during a tick are collected and applied by a single command</li>
+ *     <li>Block updates requested during a tick are deduplicated per planter and performed once by
+ *     {@code PlanterSystems.BlockUpdateFlushTick}</li>
+ *     <li>Each player is limited to a configurable number of planter interactions per second</li>
+ * </ul>
+ */
+public class PlanterInteractionQueue implements Resource<EntityStore> {
+    private final Map<Long, List<PendingInsert>> pendingInserts = new HashMap<>();
+    private Set<Long> pendingBlockUpdates = new HashSet<>();
+    private final Map<Ref<EntityStore>, TokenBucket> interactionBuckets = new HashMap<>();
+
+    /**
+     * Checks the interaction rate of a player and records the interaction if it is allowed.
+     * Each player has a token bucket holding up to one second worth of interactions that refills at the
+     * configured rate, so a burst of clicks is allowed as long as the average stays under the limit.
+     *
+     * @param maxPerSecond Allowed interactions per second, 0 for no limit
+     * @return Whether the interaction may go ahead
+     */
+    public boolean tryAcquire(Ref<EntityStore> player, long nowNanos, int maxPerSecond) {
+        if (maxPerSecond <= 0) {
+            return true;
+        }
+        TokenBucket bucket = interactionBuckets.get(player);
+        if (bucket == null) {
+            bucket = new TokenBucket(maxPerSecond, nowNanos);
+            interactionBuckets.put(player, bucket);
+        }
+        return bucket.tryTake(nowNanos, maxPerSecond);
+    }
+
+    /**
+     * Forgets players whose bucket has refilled completely, and players that left the world.
+     */
+    public void pruneLimiter(long nowNanos, int maxPerSecond) {
+        Iterator<Map.Entry<Ref<EntityStore>, TokenBucket>> iterator = interactionBuckets.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Ref<EntityStore>, TokenBucket> entry = iterator.next();
+            if (!entry.getKey().isValid() || maxPerSecond <= 0 || entry.getValue().isFull(nowNanos, maxPerSecond)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Adds an insert for the planter.
+     *
+     * @return Whether it is the first pending insert for the planter, in which case the caller schedules applying them
+     */
+    public boolean addInsert(Vector3i planterPosition, PendingInsert insert) {
+        List<PendingInsert> inserts = pendingInserts.computeIfAbsent(PlanterPositionUtil.pack(planterPosition), key -> new ArrayList<>(1));
+        inserts.add(insert);
+        return inserts.size() == 1;
+    }
+
+    /**
+     * Takes the pending inserts of the planter, in the order they were added.
+     */
+    public List<PendingInsert> takeInserts(Vector3i planterPosition) {
+        List<PendingInsert> inserts = pendingInserts.remove(PlanterPositionUtil.pack(planterPosition));
+        return inserts == null ? Collections.emptyList() : inserts;
+    }
+
+    public void requestBlockUpdate(Vector3i planterPosition) {
+        pendingBlockUpdates.add(PlanterPositionUtil.pack(planterPosition));
+    }
+
+    public boolean hasBlockUpdates() {
+        return !pendingBlockUpdates.isEmpty();
+    }
+
+    public boolean hasTrackedPlayers() {
+        return !interactionBuckets.isEmpty();
+    }
+
+    /**
+     * Takes the requested block updates as packed positions.
+     */
+    public Set<Long> drainBlockUpdates() {
+        Set<Long> drained = pendingBlockUpdates;
+        pendingBlockUpdates = new HashSet<>();
+        return drained;
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public Resource<EntityStore> clone() {
+        PlanterInteractionQueue copy = new PlanterInteractionQueue();
+        copy.pendingBlockUpdates.addAll(this.pendingBlockUpdates);
+        return copy;
+    }
+
+    /**
+     * Interactions a player has left, refilled continuously at the allowed rate up to one second worth.
+     */
+    private static final class TokenBucket {
+        private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(int maxPerSecond, long nowNanos) {
+            this.tokens = maxPerSecond;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        private boolean tryTake(long nowNanos, int maxPerSecond) {
+            refill(nowNanos, maxPerSecond);
+            if (tokens < 1.0) {
+                return false;
+            }
+            tokens -= 1.0;
+            return true;
+        }
+
+        private boolean isFull(long nowNanos, int maxPerSecond) {
+            refill(nowNanos, maxPerSecond);
+            return tokens >= maxPerSecond;
+        }
+
+        private void refill(long nowNanos, int maxPerSecond) {
+            // The limit can be lowered at runtime, never keep more than the new capacity
+            tokens = Math.min(maxPerSecond, tokens + (nowNanos - lastRefillNanos) * maxPerSecond / NANOS_PER_SECOND);
+            lastRefillNanos = nowNanos;
+        }
+    }
+
+    /**
+     * An accepted insert waiting to be applied.
+     *
+     * @param plant          The single plant to put into the planter
+     * @param heldItem       The stack it is taken from
+     * @param container      The container holding that stack
+     * @param containerSlot  The slot of the stack in the container
+     * @param context        The interaction, failed if the insert can't be applied
+     */
+    public record PendingInsert(ItemStack plant, ItemStack heldItem, ItemContainer container, short containerSlot, InteractionContext context) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.raccseal.immersivegardening.resource;
+
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.raccseal.immersivegardening.util.PlanterPositionUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-world state of the proximity level of detail for plant displays.
+ * Tracks every loaded planter with recorded plants and the detail level its displays are currently materialized at,
+ * plus the viewer positions gathered during the last tick.
+ */
+public class PlanterLodState implements Resource<EntityStore> {
+    // All slots displayed
+    public static final int LEVEL_FULL = 0;
+    // Only the first planted slot displayed
+    public static final int LEVEL_REPRESENTATIVE = 1;
+    // No displays
+    public static final int LEVEL_CULLED = 2;
+
+    private final Map<Long, Integer> levels = new HashMap<>();
+
+    private long tick;
+    private double[] pendingViewers = new double[24];
+    private int pendingViewerCount;
+    private double[] activeViewers = new double[24];
+    private int activeViewerCount;
+
+    /**
+     * Starts tracking a planter at the given level, or moves an already tracked planter to it.
+     */
+    public void setLevel(Vector3i planterPosition, int level) {
+        levels.put(PlanterPositionUtil.pack(planterPosition), level);
+    }
+
+    public void untrack(Vector3i planterPosition) {
+        levels.remove(PlanterPositionUtil.pack(planterPosition));
+    }
+
+    public Map<Long, Integer> getLevels() {
+        return levels;
+    }
+
+    public void addViewer(double x, double y, double z) {
+        if ((pendingViewerCount + 1) * 3 > pendingViewers.length) {
+            double[] grown = new double[pendingViewers.length * 2];
+            System.arraycopy(pendingViewers, 0, grown, 0, pendingViewerCount * 3);
+            pendingViewers = grown;
+        }
+        int offset = pendingViewerCount * 3;
+        pendingViewers[offset] = x;
+        pendingViewers[offset + 1] = y;
+        pendingViewers[offset + 2] = z;
+        pendingViewerCount++;
+    }
+
+    /**
+     * Advances one tick: viewers collected since the last call become the active set.
+     *
+     * @return The new tick number
+     */
+    public long advance() {
+        double[] previous = activeViewers;
+        activeViewers = pendingViewers;
+        activeViewerCount = pendingViewerCount;
+        pendingViewers = previous;
+        pendingViewerCount = 0;
+        return ++tick;
+    }
+
+    /**
+     * Squared distance from the block center of the planter to the closest active viewer,
+     * or {@link Double#MAX_VALUE} if there is none.
+     */
+    public double closestViewerDistanceSquared(long packedPlanterPosition) {
+        double px = PlanterPositionUtil.unpackX(packedPlanterPosition) + 0.5;
+        double py = PlanterPositionUtil.unpackY(packedPlanterPosition) + 0.5;
+        double pz = PlanterPositionUtil.unpackZ(packedPlanterPosition) + 0.5;
+        double closest = Double.MAX_VALUE;
+        for (int i = 0; i < activeViewerCount * 3; i += 3) {
+            double dx = activeViewers[i] - px;
+            double dy = activeViewers[i + 1] - py;
+            double dz = activeViewers[i + 2] - pz;
+            closest = Math.min(closest, dx * dx + dy * dy + dz * dz);
+        }
+        return closest;
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public Resource<EntityStore> clone() {
+        PlanterLodState copy = new PlanterLodState();
+        copy.levels.putAll(this.levels);
+        copy.tick = this.tick;
+        return copy;
+    }
+}
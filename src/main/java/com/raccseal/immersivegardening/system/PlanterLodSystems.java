@@ -0,0 +1,134 @@
+package com.raccseal.immersivegardening.system;
+import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
+import com.raccseal.immersivegardening.component.BoundPlantEntityComponent;
+import com.raccseal.immersivegardening.config.ImmersiveGardeningConfig;
+import com.raccseal.immersivegardening.resource.PlanterLodState;
+import com.raccseal.immersivegardening.util.PlantDisplayUtil;
+import com.raccseal.immersivegardening.util.PlanterPositionUtil;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import org.checkerframework.checker.nullness.compatqual.NullableDecl;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Systems for the player proximity level of detail of plant displays.
+ * Planters far from every player are reduced to a single representative plant, and culled entirely further out.
+ * Culled plants are respawned from the planter block entity, so this only runs with lazy display materialization.
+ */
+public class PlanterLodSystems {
+
+    /**
+     * Collects the position of every player in the world each tick.
+     */
+    public static class ViewerTrackingSystem extends EntityTickingSystem<EntityStore> {
+
+        @Override
+        public void tick(float dt,
+                         int index,
+                         @NonNull ArchetypeChunk<EntityStore> archetypeChunk,
+                         @NonNull Store<EntityStore> store,
+                         @NonNull CommandBuffer<EntityStore> commandBuffer) {
+            if (!ImmersiveGardeningPlugin.get().getGardeningConfig().isProximityLodActive()) {
+                return;
+            }
+
+            TransformComponent transform = archetypeChunk.getComponent(index, TransformComponent.getComponentType());
+            if (transform == null) {
+                return;
+            }
+
+            Vector3d position = transform.getPosition();
+            store.getResource(ImmersiveGardeningPlugin.get().getPlanterLodState()).addViewer(position.getX(), position.getY(), position.getZ());
+        }
+
+        @NullableDecl
+        @Override
+        public Query<EntityStore> getQuery() {
+            return PlayerRef.getComponentType();
+        }
+    }
+
+    /**
+     * Re-evaluates the detail level of every tracked planter on each LOD interval
+     * and materializes or removes displays for the planters whose level changed.
+     */
+    public static class LodTick extends TickingSystem<EntityStore> {
+
+        @Override
+        public void tick(float dt, int systemIndex, @NonNull Store<EntityStore> store) {
+            ImmersiveGardeningConfig config = ImmersiveGardeningPlugin.get().getGardeningConfig();
+            if (!config.isProximityLodActive()) {
+                return;
+            }
+
+            PlanterLodState lodState = store.getResource(ImmersiveGardeningPlugin.get().getPlanterLodState());
+            long tick = lodState.advance();
+            if (tick % config.getLodUpdateIntervalTicks() != 0) {
+                return;
+            }
+
+            double fullSquared = config.getLodFullDetailDistance() * config.getLodFullDetailDistance();
+            double cullSquared = config.getLodCullDistance() * config.getLodCullDistance();
+
+            List<Vector3i> changedPlanters = new ArrayList<>();
+            List<Integer> changedLevels = new ArrayList<>();
+            for (Map.Entry<Long, Integer> entry : lodState.getLevels().entrySet()) {
+                double distanceSquared = lodState.closestViewerDistanceSquared(entry.getKey());
+                int level = distanceSquared <= fullSquared ? PlanterLodState.LEVEL_FULL
+                        : distanceSquared <= cullSquared ? PlanterLodState.LEVEL_REPRESENTATIVE
+                        : PlanterLodState.LEVEL_CULLED;
+                if (level != entry.getValue()) {
+                    entry.setValue(level);
+                    long packed = entry.getKey();
+                    changedPlanters.add(new Vector3i(PlanterPositionUtil.unpackX(packed), PlanterPositionUtil.unpackY(packed), PlanterPositionUtil.unpackZ(packed)));
+                    changedLevels.add(level);
+                }
+            }
+
+            if (changedPlanters.isEmpty()) {
+                return;
+            }
+
+            // Entities can't be spawned or removed while the store is ticking
+            World world = store.getExternalData().getWorld();
+            world.execute(() -> {
+                for (int i = 0; i < changedPlanters.size(); i++) {
+                    applyLevel(world, changedPlanters.get(i), changedLevels.get(i));
+                }
+            });
+        }
+
+        private static void applyLevel(World world, Vector3i planterPos, int level) {
+            switch (level) {
+                case PlanterLodState.LEVEL_FULL -> PlantDisplayUtil.materializePlanter(world, planterPos);
+                case PlanterLodState.LEVEL_REPRESENTATIVE -> {
+                    BoundPlantEntityComponent boundComp = PlantDisplayUtil.findBoundComponent(world, planterPos);
+                    if (boundComp == null) {
+                        return;
+                    }
+                    int representativeSlot = Integer.lowestOneBit(boundComp.getPlantMask());
+                    PlantDisplayUtil.dematerializePlanter(world, planterPos, representativeSlot);
+                    PlantDisplayUtil.materializePlanter(world, planterPos, representativeSlot);
+                }
+                default -> PlantDisplayUtil.dematerializePlanter(world, planterPos);
+            }
+        }
+    }
+}
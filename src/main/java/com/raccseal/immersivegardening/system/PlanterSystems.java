@@ -3,26 +3,41 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
 import com.raccseal.immersivegardening.component.BoundPlantEntityComponent;
 import com.raccseal.immersivegardening.component.PlantDisplayComponent;
+import com.raccseal.immersivegardening.config.ImmersiveGardeningConfig;
+import com.raccseal.immersivegardening.metrics.GardeningMetrics;
+import com.raccseal.immersivegardening.resource.ChunkReconciliationQueue;
+import com.raccseal.immersivegardening.resource.PendingPlantDrops;
+import com.raccseal.immersivegardening.resource.PlantDisplayIndex;
+import com.raccseal.immersivegardening.resource.PlantValidationScheduler;
+import com.raccseal.immersivegardening.resource.PlanterDestructionBatch;
+import com.raccseal.immersivegardening.resource.PlanterInteractionQueue;
+import com.raccseal.immersivegardening.resource.PlanterLodState;
+import com.raccseal.immersivegardening.util.PlantDisplayProperties;
+import com.raccseal.immersivegardening.util.PlantDisplayUtil;
+import com.raccseal.immersivegardening.util.PlantDropService;
+import com.raccseal.immersivegardening.util.PlanterBlockTypes;
+import com.raccseal.immersivegardening.util.PlanterInteractionChecks;
+import com.raccseal.immersivegardening.util.PlanterPositionUtil;
+import com.raccseal.immersivegardening.util.PlanterSlotLayouts;
 
 import com.hypixel.hytale.component.AddReason;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
-import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.component.NonSerialized;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.RemoveReason;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
-import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.util.ChunkUtil;
-import com.hypixel.hytale.math.vector.Vector3d;
-import com.hypixel.hytale.math.vector.Vector3f;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.entity.UUIDComponent;
 import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
-import com.hypixel.hytale.server.core.modules.entity.item.ItemComponent;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
@@ -32,6 +47,13 @@ import org.checkerframework.checker.nullness.compatqual.NullableDecl;
 
 import org.jspecify.annotations.NonNull;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Systems for handling planter block events and plant display entity lifecycle.
  */
@@ -41,25 +63,26 @@ public class PlanterSystems {
 
     /**
      * Check if the given block type corresponds to a planter block.
-     * Checks if the block ID contains "Planter" and Immersive_Gardening
+     * Backed by the precomputed classification in {@link PlanterBlockTypes}.
      */
     public static boolean isPlanterBlock(BlockType blockType) {
-        if (blockType == null) {
-            return false;
-        }
-
-        String blockId = blockType.getId();
-        if (blockId == null) {
-            return false;
-        }
+        ImmersiveGardeningPlugin.get().getMetrics().blockTypeChecked();
+        return PlanterBlockTypes.isPlanterBlock(blockType);
+    }
 
-        // Check if the block ID contains "Planter"
-        return blockId.contains("Planter") && blockId.contains("Immersive_Gardening");
+    /**
+     * Check if the given block id corresponds to a planter block.
+     */
+    public static boolean isPlanterBlock(int blockId) {
+        ImmersiveGardeningPlugin.get().getMetrics().blockTypeChecked();
+        return PlanterBlockTypes.isPlanterBlock(blockId);
     }
 
     /**
      * System that handles breaking planter blocks.
      * Removes the associated plant display entity and drops the plant item.
+     * With batched planter destruction the broken planter is handled by {@link DestructionBatchTick} instead,
+     * once its block entity is removed.
      */
     public static class BreakPlanterSystem extends EntityEventSystem<EntityStore, BreakBlockEvent> {
 
@@ -73,6 +96,20 @@ public class PlanterSystems {
                            @NonNull Store<EntityStore> store,
                            @NonNull CommandBuffer<EntityStore> commandBuffer,
                            @NonNull BreakBlockEvent event) {
+            // Handled by DestructionBatchTick, which records its own timings
+            if (ImmersiveGardeningPlugin.get().getGardeningConfig().isBatchedPlanterDestruction()) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                breakPlanter(store, commandBuffer, event);
+            } finally {
+                ImmersiveGardeningPlugin.get().getMetrics().getBreakPlanter().recordSince(start);
+            }
+        }
+
+        private void breakPlanter(Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer, BreakBlockEvent event) {
+
             World world = commandBuffer.getExternalData().getWorld();
             Vector3i targetBlock = event.getTargetBlock();
 
@@ -85,8 +122,7 @@ public class PlanterSystems {
 
             if (worldchunk == null) return;
 
-            BlockType blockType = worldchunk.getBlockType(targetBlock);
-            if (!isPlanterBlock(blockType)) {
+            if (!isPlanterBlock(worldchunk.getBlock(x, y, z))) {
                 return;
             }
 
@@ -101,24 +137,30 @@ public class PlanterSystems {
                     ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent()
             );
 
-            if (boundEntityComp == null || !boundEntityComp.hasAttachedEntities()) {
+            if (boundEntityComp == null || !boundEntityComp.hasPlants()) {
                 return;
             }
 
-            for (java.util.UUID entityUUID : new java.util.ArrayList<>(boundEntityComp.getAttachedEntities())) {
-                Ref<EntityStore> displayRef = world.getEntityRef(entityUUID);
-                if (displayRef == null) {
-                    continue;
+            if (ImmersiveGardeningPlugin.get().getGardeningConfig().isLazyDisplayMaterialization()) {
+                // Plants recorded on the planter whose display is not spawned right now
+                int unmaterialized = boundEntityComp.getPlantMask() & ~PlantDisplayUtil.liveSlotMask(store, boundEntityComp, targetBlock);
+                for (int slot = 0; slot < boundEntityComp.getSlotCount(); slot++) {
+                    String plantItemId = boundEntityComp.getPlantItemId(slot);
+                    if (plantItemId != null && (unmaterialized & (1 << slot)) != 0) {
+                        PlantDropService.queueDrop(store, targetBlock, PlantDisplayProperties.of(plantItemId).getHeldStack());
+                    }
                 }
+            }
 
+            PlantDisplayIndex displayIndex = store.getResource(ImmersiveGardeningPlugin.get().getPlantDisplayIndex());
+            for (Ref<EntityStore> displayRef : displayIndex.getDisplays(targetBlock)) {
                 PlantDisplayComponent displayComp = store.getComponent(
                         displayRef,
                         ImmersiveGardeningPlugin.get().getPlantDisplayComponent()
                 );
 
-                if (displayComp != null && displayComp.getHeldStack() != null && !displayComp.getHeldStack().isEmpty()) {
-                    ItemStack plantItem = displayComp.getHeldStack();
-                    spawnItemDrop(commandBuffer, plantItem, targetBlock);
+                if (displayComp != null) {
+                    PlantDropService.queueDrop(store, targetBlock, displayComp.getHeldStack());
                 }
                 commandBuffer.removeEntity(displayRef, RemoveReason.REMOVE);
             }
@@ -126,119 +168,738 @@ public class PlanterSystems {
             boundEntityComp.clearAttachedEntities();
         }
 
-        /**
-         * Spawns an item drop at the specified block position.
-         */
-        private void spawnItemDrop(CommandBuffer<EntityStore> commandBuffer, ItemStack itemStack, Vector3i blockPos) {
-            Vector3d randomOffset = new Vector3d(
-                    (Math.random() - 0.2) * 0.2,
-                    1.1,
-                    (Math.random() - 0.2) * 0.2
-            );
-            Vector3d dropPosition = blockPos.toVector3d().add(randomOffset);
-
-            Holder<EntityStore> itemHolder = ItemComponent.generateItemDrop(
-                    commandBuffer,
-                    itemStack,
-                    dropPosition,
-                    Vector3f.ZERO,
-                    0f, 0f, 0f
-            );
+        @NullableDecl
+        @Override
+        public Query<EntityStore> getQuery() {
+            return PlayerRef.getComponentType();
+        }
+    }
+
+    /**
+     * Tick system that periodically checks if the planter block of each display still exists.
+     * If the planter block is gone, it removes the plant display entity and drops the item.
+     * This handles edge cases where the block is destroyed without triggering the break event.
+     * <p>
+     * Each tick advances the per-world validation scheduler and queues the displays of the planters in the due phase
+     * bucket, plus those of planters whose block entity was removed during the previous tick, so the cost of a tick
+     * follows the number of due planters rather than the number of displays in the world.
+     * Checks are processed chunk by chunk, resolving each world chunk once, until the time budget of the tick is used up.
+     * The rest stays queued and is resumed on the next tick.
+     * Chunks that are not loaded are never loaded for a check, their checks wait for the chunk in {@link ChunkResidencySystem}.
+     */
+    public static class ValidationSchedulerTick extends TickingSystem<EntityStore> {
 
-            if (itemHolder != null) {
-                ItemComponent itemComponent = itemHolder.getComponent(ItemComponent.getComponentType());
-                if (itemComponent != null) {
-                    itemComponent.setPickupDelay(0.0f);
+        @Override
+        public void tick(float dt, int systemIndex, @NonNull Store<EntityStore> store) {
+            ImmersiveGardeningConfig config = ImmersiveGardeningPlugin.get().getGardeningConfig();
+            PlantValidationScheduler scheduler = store.getResource(ImmersiveGardeningPlugin.get().getPlantValidationScheduler());
+            scheduler.beginTick(config.getEffectiveValidationPeriodTicks(), config.getValidationBudgetMicros() * 1000L);
+
+            PlantDisplayIndex displayIndex = store.getResource(ImmersiveGardeningPlugin.get().getPlantDisplayIndex());
+            PlanterDestructionBatch destructionBatch = store.getResource(ImmersiveGardeningPlugin.get().getPlanterDestructionBatch());
+            queuePlanters(scheduler, displayIndex, destructionBatch, scheduler.getDuePlanters());
+            queuePlanters(scheduler, displayIndex, destructionBatch, scheduler.getDirtyPlanters());
+            if (!scheduler.hasPendingChecks()) {
+                return;
+            }
+
+            World world = store.getExternalData().getWorld();
+            List<Vector3i> orphanPlanters = new ArrayList<>();
+            List<Ref<EntityStore>> orphanDisplays = new ArrayList<>();
+
+            Iterator<Map.Entry<Long, Map<Long, List<Ref<EntityStore>>>>> chunks = scheduler.getPendingChecks().entrySet().iterator();
+            while (chunks.hasNext() && scheduler.tryAcquire()) {
+                Map.Entry<Long, Map<Long, List<Ref<EntityStore>>>> chunkChecks = chunks.next();
+                long start = System.nanoTime();
+                // Never load a chunk for a check, an unloaded planter is not a missing planter
+                WorldChunk worldChunk = world.getChunkIfLoaded(chunkChecks.getKey());
+                if (worldChunk == null) {
+                    int displays = chunkChecks.getValue().values().stream().mapToInt(List::size).sum();
+                    chunks.remove();
+                    scheduler.completed(displays);
+                    scheduler.defer(chunkChecks.getKey(), chunkChecks.getValue());
+                    scheduler.record(System.nanoTime() - start, 0);
+                    continue;
                 }
-                commandBuffer.addEntity(itemHolder, AddReason.SPAWN);
+
+                Iterator<Map.Entry<Long, List<Ref<EntityStore>>>> planters = chunkChecks.getValue().entrySet().iterator();
+                while (planters.hasNext()) {
+                    Map.Entry<Long, List<Ref<EntityStore>>> planterChecks = planters.next();
+                    long packed = planterChecks.getKey();
+                    Vector3i planterPosition = new Vector3i(PlanterPositionUtil.unpackX(packed), PlanterPositionUtil.unpackY(packed), PlanterPositionUtil.unpackZ(packed));
+
+                    // Destroyed planters are handled as a batch, including their displays
+                    if (!destructionBatch.isPending(planterPosition)
+                            && !isPlanterBlock(worldChunk.getBlock(planterPosition.getX(), planterPosition.getY(), planterPosition.getZ()))) {
+                        for (Ref<EntityStore> displayRef : planterChecks.getValue()) {
+                            orphanPlanters.add(planterPosition);
+                            orphanDisplays.add(displayRef);
+                        }
+                    }
+
+                    int displays = planterChecks.getValue().size();
+                    planters.remove();
+                    scheduler.completed(displays);
+                    long now = System.nanoTime();
+                    scheduler.record(now - start, displays);
+                    start = now;
+                    if (!scheduler.tryAcquire()) {
+                        break;
+                    }
+                }
+
+                if (!chunkChecks.getValue().isEmpty()) {
+                    // Out of budget halfway through the chunk, resume with it next tick
+                    break;
+                }
+                chunks.remove();
+            }
+
+            if (orphanDisplays.isEmpty()) {
+                return;
+            }
+
+            // Entities can't be removed while the store is ticking
+            world.execute(() -> {
+                for (int i = 0; i < orphanDisplays.size(); i++) {
+                    removeOrphan(store, orphanPlanters.get(i), orphanDisplays.get(i));
+                }
+            });
+        }
+
+        private static void queuePlanters(PlantValidationScheduler scheduler, PlantDisplayIndex displayIndex,
+                                          PlanterDestructionBatch destructionBatch, Set<Long> planters) {
+            for (long packed : planters) {
+                Vector3i planterPosition = new Vector3i(PlanterPositionUtil.unpackX(packed), PlanterPositionUtil.unpackY(packed), PlanterPositionUtil.unpackZ(packed));
+                // Destroyed planters are handled as a batch, including their displays
+                if (destructionBatch.isPending(planterPosition)) {
+                    continue;
+                }
+                for (Ref<EntityStore> displayRef : displayIndex.getDisplays(planterPosition)) {
+                    scheduler.enqueue(planterPosition, displayRef);
+                }
+            }
+        }
+
+        private static void removeOrphan(Store<EntityStore> store, Vector3i planterPosition, Ref<EntityStore> displayRef) {
+            if (!displayRef.isValid()) {
+                return;
+            }
+
+            PlantDisplayComponent displayComp = store.getComponent(displayRef, ImmersiveGardeningPlugin.get().getPlantDisplayComponent());
+            ItemStack heldStack = displayComp != null ? displayComp.getHeldStack() : null;
+            ImmersiveGardeningPlugin.get().getMetrics().orphanReaped();
+            LOGGER.atInfo().log("Planter block no longer exists at " + planterPosition + ", removing display entity and dropping plant: " + (heldStack != null ? heldStack.getItemId() : "null"));
+
+            PlantDropService.queueDrop(store, planterPosition, heldStack);
+            store.removeEntity(displayRef, RemoveReason.REMOVE);
+        }
+    }
+
+    /**
+     * Tick system that processes the planters destroyed during the previous tick in one pass.
+     * Planters are grouped by chunk, their displays resolved through the {@link PlantDisplayIndex} and removed,
+     * and the plants of each planter are handed to the {@link PlantDropService}, which merges identical stacks per block.
+     */
+    public static class DestructionBatchTick extends TickingSystem<EntityStore> {
+
+        @Override
+        public void tick(float dt, int systemIndex, @NonNull Store<EntityStore> store) {
+            PlanterDestructionBatch batch = store.getResource(ImmersiveGardeningPlugin.get().getPlanterDestructionBatch());
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Map<Long, BoundPlantEntityComponent> destroyed = batch.drain();
+            // Entities can't be spawned or removed while the store is ticking
+            World world = store.getExternalData().getWorld();
+            world.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    destroyPlanters(world, destroyed);
+                } finally {
+                    batch.complete(destroyed);
+                    ImmersiveGardeningPlugin.get().getMetrics().getDestructionBatch().recordSince(start);
+                }
+            });
+        }
+
+        private static void destroyPlanters(World world, Map<Long, BoundPlantEntityComponent> destroyed) {
+            Map<Long, List<Long>> plantersByChunk = new HashMap<>();
+            for (long packed : destroyed.keySet()) {
+                long chunkIndex = ChunkUtil.indexChunkFromBlock(PlanterPositionUtil.unpackX(packed), PlanterPositionUtil.unpackZ(packed));
+                plantersByChunk.computeIfAbsent(chunkIndex, key -> new ArrayList<>()).add(packed);
+            }
+
+            Store<EntityStore> store = world.getEntityStore().getStore();
+            PlantDisplayIndex displayIndex = store.getResource(ImmersiveGardeningPlugin.get().getPlantDisplayIndex());
+            boolean lazy = ImmersiveGardeningPlugin.get().getGardeningConfig().isLazyDisplayMaterialization();
+            for (Map.Entry<Long, List<Long>> chunkPlanters : plantersByChunk.entrySet()) {
+                // Never load a chunk for this, planters in unloaded chunks are dropped as recorded
+                WorldChunk worldChunk = world.getChunkIfLoaded(chunkPlanters.getKey());
+                for (long packed : chunkPlanters.getValue()) {
+                    Vector3i planterPosition = new Vector3i(PlanterPositionUtil.unpackX(packed), PlanterPositionUtil.unpackY(packed), PlanterPositionUtil.unpackZ(packed));
+                    // Still a planter by the time the batch runs (placed again, or the block entity was only replaced), keep its plants
+                    if (worldChunk != null
+                            && isPlanterBlock(worldChunk.getBlock(planterPosition.getX(), planterPosition.getY(), planterPosition.getZ()))) {
+                        continue;
+                    }
+                    long start = System.nanoTime();
+                    destroyPlanter(store, displayIndex, lazy, planterPosition, destroyed.get(packed));
+                    ImmersiveGardeningPlugin.get().getMetrics().getDestroyPlanter().recordSince(start);
+                }
+            }
+        }
+
+        private static void destroyPlanter(Store<EntityStore> store, PlantDisplayIndex displayIndex, boolean lazy,
+                                           Vector3i planterPosition, BoundPlantEntityComponent boundPlants) {
+            if (lazy) {
+                // Plants recorded on the planter whose display is not spawned right now
+                int unmaterialized = boundPlants.getPlantMask() & ~PlantDisplayUtil.liveSlotMask(store, boundPlants, planterPosition);
+                for (int slot = 0; slot < boundPlants.getSlotCount(); slot++) {
+                    String plantItemId = boundPlants.getPlantItemId(slot);
+                    if (plantItemId != null && (unmaterialized & (1 << slot)) != 0) {
+                        PlantDropService.queueDrop(store, planterPosition, PlantDisplayProperties.of(plantItemId).getHeldStack());
+                    }
+                }
+            }
+
+            for (Ref<EntityStore> displayRef : new ArrayList<>(displayIndex.getDisplays(planterPosition))) {
+                if (!displayRef.isValid()) {
+                    continue;
+                }
+                PlantDisplayComponent displayComp = store.getComponent(displayRef, ImmersiveGardeningPlugin.get().getPlantDisplayComponent());
+                if (displayComp != null) {
+                    PlantDropService.queueDrop(store, planterPosition, displayComp.getHeldStack());
+                }
+                store.removeEntity(displayRef, RemoveReason.REMOVE);
+            }
+        }
+    }
+
+    /**
+     * Tick system that spawns the plant drops queued through the {@link PlantDropService} during the previous tick.
+     */
+    public static class PlantDropFlushTick extends TickingSystem<EntityStore> {
+
+        @Override
+        public void tick(float dt, int systemIndex, @NonNull Store<EntityStore> store) {
+            PendingPlantDrops pendingDrops = store.getResource(ImmersiveGardeningPlugin.get().getPendingPlantDrops());
+            if (pendingDrops.isEmpty()) {
+                return;
+            }
+
+            Map<Long, List<ItemStack>> drops = pendingDrops.drain();
+            // Entities can't be spawned while the store is ticking
+            store.getExternalData().getWorld().execute(() -> PlantDropService.spawnDrops(store, drops));
+        }
+    }
+
+    /**
+     * Tick system that performs the planter block updates requested by interactions during the previous tick,
+     * once per planter no matter how many interactions touched it.
+     */
+    public static class BlockUpdateFlushTick extends TickingSystem<EntityStore> {
+
+        @Override
+        public void tick(float dt, int systemIndex, @NonNull Store<EntityStore> store) {
+            PlanterInteractionQueue interactionQueue = store.getResource(ImmersiveGardeningPlugin.get().getPlanterInteractionQueue());
+            if (interactionQueue.hasTrackedPlayers()) {
+                interactionQueue.pruneLimiter(System.nanoTime(), ImmersiveGardeningPlugin.get().getGardeningConfig().getMaxPlanterInteractionsPerSecond());
+            }
+            if (!interactionQueue.hasBlockUpdates()) {
+                return;
+            }
+
+            Set<Long> blockUpdates = interactionQueue.drainBlockUpdates();
+            World world = store.getExternalData().getWorld();
+            world.execute(() -> {
+                for (long packed : blockUpdates) {
+                    world.performBlockUpdate(PlanterPositionUtil.unpackX(packed), PlanterPositionUtil.unpackY(packed), PlanterPositionUtil.unpackZ(packed));
+                }
+            });
+        }
+    }
+
+    /**
+     * Tick system that publishes the live planter and display counts and the reconciliation progress of the world to the plugin metrics
+     * and emits the periodic metrics log line.
+     */
+    public static class MetricsTick extends TickingSystem<EntityStore> {
+        private static final int PUBLISH_INTERVAL_TICKS = 20;
+
+        @Override
+        public void tick(float dt, int systemIndex, @NonNull Store<EntityStore> store) {
+            // The scheduler tick is per world, unlike fields of this system which every world shares
+            if (store.getResource(ImmersiveGardeningPlugin.get().getPlantValidationScheduler()).getCurrentTick() % PUBLISH_INTERVAL_TICKS != 0) {
+                return;
+            }
+
+            GardeningMetrics metrics = ImmersiveGardeningPlugin.get().getMetrics();
+            PlantDisplayIndex displayIndex = store.getResource(ImmersiveGardeningPlugin.get().getPlantDisplayIndex());
+            ChunkReconciliationQueue reconciliation = store.getResource(ImmersiveGardeningPlugin.get().getChunkReconciliationQueue());
+            metrics.publishWorld(store.getExternalData().getWorld().getName(), new GardeningMetrics.WorldCounts(
+                    displayIndex.getPlanterCount(),
+                    displayIndex.getDisplayCount(),
+                    reconciliation.getChunksReconciled(),
+                    reconciliation.getPendingChunks(),
+                    reconciliation.getDanglingSlotsRepaired(),
+                    reconciliation.getDisplaysRebound(),
+                    reconciliation.getOrphanDisplaysRemoved()
+            ));
+
+            int logIntervalSeconds = ImmersiveGardeningPlugin.get().getGardeningConfig().getMetricsLogIntervalSeconds();
+            if (logIntervalSeconds > 0 && metrics.tryClaimLogLine(System.nanoTime(), logIntervalSeconds * 1_000_000_000L)) {
+                LOGGER.atInfo().log(metrics.toLogLine());
+            }
+        }
+    }
+
+    /**
+     * System that watches planter block entities holding plants.
+     * When one is removed for any reason other than a chunk unload (block broken, replaced, exploded, chunk regenerated),
+     * it is queued for {@link DestructionBatchTick} with batched planter destruction enabled.
+     * Otherwise its position is marked dirty so the bound displays are queued for a check on the next tick instead of waiting for polling.
+     */
+    public static class PlanterBlockChangeSystem extends RefSystem<ChunkStore> {
+
+        @Override
+        public void onEntityAdded(@NonNull Ref<ChunkStore> ref,
+                                  @NonNull AddReason reason,
+                                  @NonNull Store<ChunkStore> store,
+                                  @NonNull CommandBuffer<ChunkStore> commandBuffer) {
+        }
+
+        @Override
+        public void onEntityRemove(@NonNull Ref<ChunkStore> ref,
+                                   @NonNull RemoveReason reason,
+                                   @NonNull Store<ChunkStore> store,
+                                   @NonNull CommandBuffer<ChunkStore> commandBuffer) {
+            ImmersiveGardeningConfig config = ImmersiveGardeningPlugin.get().getGardeningConfig();
+            if (reason == RemoveReason.UNLOAD || !(config.isBatchedPlanterDestruction() || config.isEventDrivenOrphanDetection())) {
+                return;
+            }
+
+            Vector3i planterPosition = PlanterPositionUtil.blockPositionOf(store, ref);
+            if (planterPosition == null) {
+                return;
+            }
+
+            World world = store.getExternalData().getWorld();
+            if (config.isBatchedPlanterDestruction()) {
+                // The block entity is going away, keep a copy of its plants for the drops
+                BoundPlantEntityComponent boundPlants = store.getComponent(ref, ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent());
+                if (boundPlants != null) {
+                    world.getEntityStore().getStore()
+                            .getResource(ImmersiveGardeningPlugin.get().getPlanterDestructionBatch())
+                            .enqueue(planterPosition, (BoundPlantEntityComponent) boundPlants.clone());
+                }
+                return;
             }
+
+            world.getEntityStore().getStore()
+                    .getResource(ImmersiveGardeningPlugin.get().getPlantValidationScheduler())
+                    .markDirty(planterPosition);
         }
 
         @NullableDecl
         @Override
-        public Query<EntityStore> getQuery() {
-            return PlayerRef.getComponentType();
+        public Query<ChunkStore> getQuery() {
+            return ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent();
         }
     }
 
     /**
-     * Tick system that periodically checks if the planter block still exists.
-     * If the planter block is gone, it removes the plant display entity and drops the item.
-     * This handles edge cases where the block is destroyed without triggering the break event.
+     * System that materializes plant displays per loaded chunk when lazy display materialization is enabled.
+     * Displays are non-persistent in that mode: they are spawned from the plants recorded on the planter block entity
+     * when it is added (chunk load, prefab paste) and removed again when its chunk unloads.
      */
-    public static class PlantDisplayTick extends EntityTickingSystem<EntityStore> {
-        private int tickCounter = 0;
-        private static final int TICKS_PER_CHECK = 10;
+    public static class PlanterMaterializationSystem extends RefSystem<ChunkStore> {
 
         @Override
-        public void tick(float dt,
-                         int index,
-                         @NonNull ArchetypeChunk<EntityStore> archetypeChunk,
-                         @NonNull Store<EntityStore> store,
-                         @NonNull CommandBuffer<EntityStore> commandBuffer) {
-            tickCounter++;
-            if (tickCounter < TICKS_PER_CHECK) {
+        public void onEntityAdded(@NonNull Ref<ChunkStore> ref,
+                                  @NonNull AddReason reason,
+                                  @NonNull Store<ChunkStore> store,
+                                  @NonNull CommandBuffer<ChunkStore> commandBuffer) {
+            if (!ImmersiveGardeningPlugin.get().getGardeningConfig().isLazyDisplayMaterialization()) {
                 return;
             }
-            tickCounter = 0;
 
-            Ref<EntityStore> ref = archetypeChunk.getReferenceTo(index);
-            PlantDisplayComponent component = store.getComponent(ref, ImmersiveGardeningPlugin.get().getPlantDisplayComponent());
+            Vector3i planterPosition = PlanterPositionUtil.blockPositionOf(store, ref);
+            if (planterPosition == null) {
+                return;
+            }
 
-            if (component == null) {
+            World world = store.getExternalData().getWorld();
+            if (ImmersiveGardeningPlugin.get().getGardeningConfig().isProximityLodActive()) {
+                // Start culled, the next LOD pass brings in the displays players are close enough to see
+                world.getEntityStore().getStore()
+                        .getResource(ImmersiveGardeningPlugin.get().getPlanterLodState())
+                        .setLevel(planterPosition, PlanterLodState.LEVEL_CULLED);
                 return;
             }
 
-            Vector3i planterPosition = component.getPlanterPosition();
-            ItemStack heldStack = component.getHeldStack();
+            // Spawn once the chunk has finished loading; materializing skips slots that already have a display
+            world.execute(() -> PlantDisplayUtil.materializePlanter(world, planterPosition));
+        }
+
+        @Override
+        public void onEntityRemove(@NonNull Ref<ChunkStore> ref,
+                                   @NonNull RemoveReason reason,
+                                   @NonNull Store<ChunkStore> store,
+                                   @NonNull CommandBuffer<ChunkStore> commandBuffer) {
+            if (!ImmersiveGardeningPlugin.get().getGardeningConfig().isLazyDisplayMaterialization()) {
+                return;
+            }
 
-            // If no planter position is set, remove the entity
+            Vector3i planterPosition = PlanterPositionUtil.blockPositionOf(store, ref);
             if (planterPosition == null) {
-                commandBuffer.run((entityStore) -> {
-                    if (heldStack != null && !heldStack.isEmpty()) {
-                        spawnItemDropFromStore(entityStore, heldStack, Vector3i.ZERO);
-                    }
-                    store.removeEntity(ref, RemoveReason.REMOVE);
-                });
                 return;
             }
 
-            // Check if the planter block still exists
             World world = store.getExternalData().getWorld();
-            BlockType blockType = world.getBlockType(planterPosition);
+            world.getEntityStore().getStore()
+                    .getResource(ImmersiveGardeningPlugin.get().getPlanterLodState())
+                    .untrack(planterPosition);
+            if (reason != RemoveReason.UNLOAD) {
+                return;
+            }
 
-            if (!isPlanterBlock(blockType)) {
-                LOGGER.atInfo().log("Planter block no longer exists at " + planterPosition + ", removing display entity and dropping plant: " + (heldStack != null ? heldStack.getItemId() : "null"));
+            world.execute(() -> PlantDisplayUtil.dematerializePlanter(world, planterPosition));
+        }
 
-                commandBuffer.run((entityStore) -> {
-                    if (heldStack != null && !heldStack.isEmpty()) {
-                        spawnItemDropFromStore(entityStore, heldStack, planterPosition);
+        @NullableDecl
+        @Override
+        public Query<ChunkStore> getQuery() {
+            return ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent();
+        }
+    }
+
+    /**
+     * System that queues planter block entities loading with their chunk for reconciliation.
+     * Display entities loading are queued by {@link PlantDisplayIndexSystem}.
+     */
+    public static class PlanterReconciliationSystem extends RefSystem<ChunkStore> {
+
+        @Override
+        public void onEntityAdded(@NonNull Ref<ChunkStore> ref,
+                                  @NonNull AddReason reason,
+                                  @NonNull Store<ChunkStore> store,
+                                  @NonNull CommandBuffer<ChunkStore> commandBuffer) {
+            if (reason != AddReason.LOAD || !ImmersiveGardeningPlugin.get().getGardeningConfig().isReconcileOnChunkLoad()) {
+                return;
+            }
+
+            Vector3i planterPosition = PlanterPositionUtil.blockPositionOf(store, ref);
+            if (planterPosition == null) {
+                return;
+            }
+
+            store.getExternalData().getWorld().getEntityStore().getStore()
+                    .getResource(ImmersiveGardeningPlugin.get().getChunkReconciliationQueue())
+                    .enqueue(planterPosition);
+        }
+
+        @Override
+        public void onEntityRemove(@NonNull Ref<ChunkStore> ref,
+                                   @NonNull RemoveReason reason,
+                                   @NonNull Store<ChunkStore> store,
+                                   @NonNull CommandBuffer<ChunkStore> commandBuffer) {
+        }
+
+        @NullableDecl
+        @Override
+        public Query<ChunkStore> getQuery() {
+            return ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent();
+        }
+    }
+
+    /**
+     * System that puts the display validations deferred for a chunk back on the queue once the chunk is loaded.
+     */
+    public static class ChunkResidencySystem extends RefSystem<ChunkStore> {
+
+        @Override
+        public void onEntityAdded(@NonNull Ref<ChunkStore> ref,
+                                  @NonNull AddReason reason,
+                                  @NonNull Store<ChunkStore> store,
+                                  @NonNull CommandBuffer<ChunkStore> commandBuffer) {
+            WorldChunk worldChunk = store.getComponent(ref, WorldChunk.getComponentType());
+            if (worldChunk == null) {
+                return;
+            }
+
+            store.getExternalData().getWorld().getEntityStore().getStore()
+                    .getResource(ImmersiveGardeningPlugin.get().getPlantValidationScheduler())
+                    .resumeDeferred(worldChunk.getIndex());
+        }
+
+        @Override
+        public void onEntityRemove(@NonNull Ref<ChunkStore> ref,
+                                   @NonNull RemoveReason reason,
+                                   @NonNull Store<ChunkStore> store,
+                                   @NonNull CommandBuffer<ChunkStore> commandBuffer) {
+        }
+
+        @NullableDecl
+        @Override
+        public Query<ChunkStore> getQuery() {
+            return WorldChunk.getComponentType();
+        }
+    }
+
+    /**
+     * Tick system that reconciles the chunks loaded during the previous tick, one pass per chunk.
+     * Repairs both directions of disagreement between planters and display entities:
+     * <ul>
+     *     <li>Displays whose planter block is gone are removed and their plant dropped. Displays that no slot of their
+     *     existing planter refers to are bound to a free slot, or removed without a drop if the planter has none</li>
+     *     <li>Slots referring to a display that doesn't exist are respawned from their recorded plant, or freed if there is none,
+     *     once a validation period has passed without the display loading.
+     *     With lazy display materialization missing displays are expected and respawned by materialization instead</li>
+     * </ul>
+     * No pass ever drops a plant and respawns it, so a display loading late can't duplicate its plant.
+     * Loaded chunks are consistent afterwards, so steady-state validation only has to catch changes made while they stay loaded.
+     */
+    public static class ReconciliationTick extends TickingSystem<EntityStore> {
+
+        @Override
+        public void tick(float dt, int systemIndex, @NonNull Store<EntityStore> store) {
+            ChunkReconciliationQueue reconciliation = store.getResource(ImmersiveGardeningPlugin.get().getChunkReconciliationQueue());
+            reconciliation.advanceTick();
+            if (reconciliation.isEmpty() && !reconciliation.hasPendingRespawns()) {
+                return;
+            }
+
+            Map<Long, Set<Long>> chunks = reconciliation.drain();
+            Map<Long, Integer> respawns = reconciliation.drainDueRespawns();
+            // Entities can't be spawned or removed while the store is ticking
+            World world = store.getExternalData().getWorld();
+            world.execute(() -> {
+                chunks.forEach((chunkIndex, planters) -> reconcileChunk(world, chunkIndex, planters));
+                respawns.forEach((packed, slots) -> respawnDangling(world, packed, slots));
+            });
+        }
+
+        /**
+         * Matches the displays of each planter to its slots. The planter is the source of truth for its slots:
+         * a display it doesn't reference is bound to a free slot, or removed without a drop if there is none.
+         * Only displays of planters that are gone are dropped. Slots without a display are never respawned here,
+         * see {@link #respawnDangling}.
+         */
+        private static void reconcileChunk(World world, long chunkIndex, Set<Long> planters) {
+            WorldChunk worldChunk = world.getChunkIfLoaded(chunkIndex);
+            if (worldChunk == null) {
+                // Unloaded again in the meantime, it is reconciled on its next load
+                return;
+            }
+
+            Store<EntityStore> store = world.getEntityStore().getStore();
+            ChunkReconciliationQueue reconciliation = store.getResource(ImmersiveGardeningPlugin.get().getChunkReconciliationQueue());
+            PlantDisplayIndex displayIndex = store.getResource(ImmersiveGardeningPlugin.get().getPlantDisplayIndex());
+            PlanterDestructionBatch destructionBatch = store.getResource(ImmersiveGardeningPlugin.get().getPlanterDestructionBatch());
+            boolean lazy = ImmersiveGardeningPlugin.get().getGardeningConfig().isLazyDisplayMaterialization();
+
+            int reboundDisplays = 0;
+            int orphanDisplays = 0;
+            for (long packed : planters) {
+                Vector3i planterPosition = new Vector3i(PlanterPositionUtil.unpackX(packed), PlanterPositionUtil.unpackY(packed), PlanterPositionUtil.unpackZ(packed));
+                if (destructionBatch.isPending(planterPosition)) {
+                    continue;
+                }
+
+                BlockType blockType = worldChunk.getBlockType(planterPosition);
+                boolean planterExists = isPlanterBlock(blockType);
+                BoundPlantEntityComponent boundComp = planterExists ? PlantDisplayUtil.findBoundComponent(world, planterPosition) : null;
+                int capacity = planterExists ? PlanterSlotLayouts.getCapacity(blockType) : 0;
+
+                int liveSlots = 0;
+                for (Ref<EntityStore> displayRef : new ArrayList<>(displayIndex.getDisplays(planterPosition))) {
+                    if (!displayRef.isValid()) {
+                        continue;
                     }
-                    store.removeEntity(ref, RemoveReason.REMOVE);
-                });
+                    int slot = boundComp == null ? -1 : PlantDisplayUtil.slotOf(store, boundComp, displayRef);
+                    if (slot >= 0 && (liveSlots & (1 << slot)) == 0) {
+                        liveSlots |= 1 << slot;
+                        continue;
+                    }
+
+                    PlantDisplayComponent displayComp = store.getComponent(displayRef, ImmersiveGardeningPlugin.get().getPlantDisplayComponent());
+                    if (planterExists) {
+                        int rebound = boundComp == null || displayComp == null ? -1 : rebindDisplay(store, boundComp, displayRef, displayComp, liveSlots, capacity);
+                        if (rebound >= 0) {
+                            liveSlots |= 1 << rebound;
+                            reboundDisplays++;
+                            continue;
+                        }
+                        // The planter already accounts for every plant it holds, so this one is a duplicate
+                    } else if (displayComp != null) {
+                        PlantDropService.queueDrop(store, planterPosition, displayComp.getHeldStack());
+                    }
+                    store.removeEntity(displayRef, RemoveReason.REMOVE);
+                    orphanDisplays++;
+                }
+
+                if (boundComp == null || lazy) {
+                    continue;
+                }
+                int dangling = boundComp.getOccupancy() & ~liveSlots;
+                if (dangling != 0) {
+                    // Their displays may still be loading, give them a validation period to show up
+                    reconciliation.scheduleRespawn(planterPosition, dangling, ImmersiveGardeningPlugin.get().getGardeningConfig().getValidationPeriodTicks());
+                }
+            }
+
+            reconciliation.recordChunk(reboundDisplays, orphanDisplays);
+            if (reboundDisplays > 0 || orphanDisplays > 0) {
+                LOGGER.atInfo().log("Reconciled chunk " + chunkIndex + ": rebound " + reboundDisplays + " displays, removed " + orphanDisplays + " orphan displays");
             }
         }
 
         /**
-         * Spawns an item drop from the entity store.
+         * Binds a display its planter doesn't reference to a slot: preferably a recorded slot of the same plant
+         * whose display is missing, otherwise an empty slot.
+         *
+         * @return The slot the display was bound to, or -1 if the planter has no slot for it
          */
-        private void spawnItemDropFromStore(Store<EntityStore> store, ItemStack itemStack, Vector3i blockPos) {
-            Vector3d dropPosition = blockPos.toVector3d().add(0.0, 1.1, 0.0);
-
-            Holder<EntityStore> itemHolder = ItemComponent.generateItemDrop(
-                    store,
-                    itemStack,
-                    dropPosition,
-                    Vector3f.ZERO,
-                    0f, 0f, 0f
-            );
+        private static int rebindDisplay(Store<EntityStore> store, BoundPlantEntityComponent boundComp, Ref<EntityStore> displayRef,
+                                         PlantDisplayComponent displayComp, int liveSlots, int capacity) {
+            UUIDComponent uuidComponent = store.getComponent(displayRef, UUIDComponent.getComponentType());
+            ItemStack heldStack = displayComp.getHeldStack();
+            if (uuidComponent == null || heldStack == null || heldStack.isEmpty()) {
+                return -1;
+            }
+
+            int recorded = (boundComp.getOccupancy() | boundComp.getPlantMask()) & ~liveSlots;
+            int slot = -1;
+            for (int candidate = 0; candidate < capacity; candidate++) {
+                if ((recorded & (1 << candidate)) == 0) {
+                    continue;
+                }
+                String plantItemId = boundComp.getPlantItemId(candidate);
+                if (plantItemId == null || plantItemId.equals(heldStack.getItemId())) {
+                    slot = candidate;
+                    break;
+                }
+            }
+            if (slot < 0) {
+                slot = PlanterInteractionChecks.nextFreeSlot(boundComp.getOccupancy() | boundComp.getPlantMask() | liveSlots);
+                if (slot >= capacity) {
+                    return -1;
+                }
+            }
+
+            boundComp.setAttachedEntityAt(slot, uuidComponent.getUuid());
+            boundComp.setPlantItemId(slot, heldStack.getItemId());
+            if (boundComp.getPlantSeed(slot) == 0) {
+                boundComp.setPlantSeed(slot, PlantDisplayUtil.seedOf(store, displayRef));
+            }
+            return slot;
+        }
+
+        /**
+         * Respawns the displays of slots that were missing one when their chunk was reconciled and still are,
+         * now that the chunk has had a validation period to load its entities.
+         */
+        private static void respawnDangling(World world, long packed, int slots) {
+            Vector3i planterPosition = new Vector3i(PlanterPositionUtil.unpackX(packed), PlanterPositionUtil.unpackY(packed), PlanterPositionUtil.unpackZ(packed));
+            // Unloaded again in the meantime, it is reconciled on its next load
+            BoundPlantEntityComponent boundComp = PlantDisplayUtil.findBoundComponent(world, planterPosition);
+            Store<EntityStore> store = world.getEntityStore().getStore();
+            if (boundComp == null || store.getResource(ImmersiveGardeningPlugin.get().getPlanterDestructionBatch()).isPending(planterPosition)) {
+                return;
+            }
+
+            int dangling = slots & boundComp.getOccupancy() & ~PlantDisplayUtil.liveSlotMask(store, boundComp, planterPosition);
+            int respawn = 0;
+            int repaired = 0;
+            for (int slot = 0; slot < boundComp.getSlotCount(); slot++) {
+                if ((dangling & (1 << slot)) == 0) {
+                    continue;
+                }
+                if (boundComp.getPlantItemId(slot) != null) {
+                    respawn |= 1 << slot;
+                } else {
+                    // Nothing recorded to rebuild the plant from
+                    boundComp.removeAttachedEntityAt(slot);
+                }
+                repaired++;
+            }
+            if (respawn != 0) {
+                PlantDisplayUtil.materializePlanter(world, planterPosition, respawn);
+            }
+
+            store.getResource(ImmersiveGardeningPlugin.get().getChunkReconciliationQueue()).recordRespawnedSlots(repaired);
+            if (repaired > 0) {
+                LOGGER.atInfo().log("Repaired " + repaired + " dangling slots of planter at " + planterPosition);
+            }
+        }
+    }
+
+    /**
+     * System that keeps the per-world {@link PlantDisplayIndex} and the phase buckets of the
+     * {@link PlantValidationScheduler} in sync with display entities.
+     * Entities removed by a chunk unload go through here as well, so neither ever holds stale refs.
+     * Displays without a planter position can never be validated, so they are removed and their plant dropped as they are added.
+     */
+    public static class PlantDisplayIndexSystem extends RefSystem<EntityStore> {
+
+        @Override
+        public void onEntityAdded(@NonNull Ref<EntityStore> ref,
+                                  @NonNull AddReason reason,
+                                  @NonNull Store<EntityStore> store,
+                                  @NonNull CommandBuffer<EntityStore> commandBuffer) {
+            PlantDisplayComponent component = store.getComponent(ref, ImmersiveGardeningPlugin.get().getPlantDisplayComponent());
+            if (component != null && component.getPlanterPosition() == null) {
+                ImmersiveGardeningPlugin.get().getMetrics().orphanReaped();
+                ItemStack heldStack = component.getHeldStack();
+                commandBuffer.run((entityStore) -> {
+                    PlantDropService.queueDrop(entityStore, Vector3i.ZERO, heldStack);
+                    entityStore.removeEntity(ref, RemoveReason.REMOVE);
+                });
+                return;
+            }
+            if (component != null) {
+                PlantDisplayIndex displayIndex = store.getResource(ImmersiveGardeningPlugin.get().getPlantDisplayIndex());
+                displayIndex.add(component.getPlanterPosition(), ref);
+                if (displayIndex.getDisplays(component.getPlanterPosition()).size() == 1) {
+                    store.getResource(ImmersiveGardeningPlugin.get().getPlantValidationScheduler()).trackPlanter(component.getPlanterPosition());
+                }
+                if (reason == AddReason.LOAD && ImmersiveGardeningPlugin.get().getGardeningConfig().isReconcileOnChunkLoad()) {
+                    store.getResource(ImmersiveGardeningPlugin.get().getChunkReconciliationQueue()).enqueue(component.getPlanterPosition());
+                }
+                if (reason == AddReason.LOAD) {
+                    PlantDisplayUtil.migrateDisplayArchetype(store, commandBuffer, ref, component);
+                }
+                if (reason == AddReason.LOAD && ImmersiveGardeningPlugin.get().getGardeningConfig().isLazyDisplayMaterialization()
+                        && store.getComponent(ref, EntityStore.REGISTRY.getNonSerializedComponentType()) == null) {
+                    // Saved before lazy materialization was enabled: stop saving it, the planter slot carries the plant from now on
+                    commandBuffer.putComponent(ref, EntityStore.REGISTRY.getNonSerializedComponentType(), NonSerialized.get());
+                    World world = store.getExternalData().getWorld();
+                    Vector3i planterPosition = component.getPlanterPosition();
+                    world.execute(() -> PlantDisplayUtil.adoptLegacyDisplay(world, planterPosition, ref));
+                }
+            }
+        }
 
-            if (itemHolder != null) {
-                ItemComponent itemComponent = itemHolder.getComponent(ItemComponent.getComponentType());
-                if (itemComponent != null) {
-                    itemComponent.setPickupDelay(0.5f);
+        @Override
+        public void onEntityRemove(@NonNull Ref<EntityStore> ref,
+                                   @NonNull RemoveReason reason,
+                                   @NonNull Store<EntityStore> store,
+                                   @NonNull CommandBuffer<EntityStore> commandBuffer) {
+            PlantDisplayComponent component = store.getComponent(ref, ImmersiveGardeningPlugin.get().getPlantDisplayComponent());
+            if (component != null && component.getPlanterPosition() != null) {
+                PlantDisplayIndex displayIndex = store.getResource(ImmersiveGardeningPlugin.get().getPlantDisplayIndex());
+                displayIndex.remove(component.getPlanterPosition(), ref);
+                if (displayIndex.getDisplays(component.getPlanterPosition()).isEmpty()) {
+                    store.getResource(ImmersiveGardeningPlugin.get().getPlantValidationScheduler()).untrackPlanter(component.getPlanterPosition());
                 }
-                store.addEntity(itemHolder, AddReason.SPAWN);
+            }
+
+            if (reason == RemoveReason.UNLOAD) {
+                ImmersiveGardeningPlugin.get().getMetrics().displayUnloaded();
+            } else {
+                ImmersiveGardeningPlugin.get().getMetrics().displayRemoved();
             }
         }
 
@@ -249,6 +910,3 @@ public class PlanterSystems {
         }
     }
 }
-
-
-
@@ -0,0 +1,131 @@
+package com.raccseal.immersivegardening.util;
+
+import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.server.core.asset.type.item.config.AssetIconProperties;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Display properties of a plant item, resolved once per item id and shared by every display entity of that plant.
+ * The cache is cleared whenever item assets are (re)loaded.
+ * <p>
+ * The stacks handed out are shared instances and must not be modified. Item stacks are only ever replaced,
+ * never changed in place, once they sit in a component, so display entities can reference them directly.
+ * <p>
+ * Also holds the prototype holders that display entities of the plant are cloned from. The planter variant doesn't
+ * change any display component, so one prototype per item id covers every planter. The static prop and lazy
+ * materialization options do change the archetype, so there is one prototype per combination of the two and
+ * changing either option at runtime picks up the matching one without waiting for an item asset reload.
+ */
+public class PlantDisplayProperties {
+    // Plants are shown smaller than their icon scale so they fit into the planter
+    private static final float DISPLAY_SCALE_FACTOR = 0.7f;
+    private static final float DEFAULT_ICON_SCALE = 0.5f;
+
+    private static final Map<String, PlantDisplayProperties> CACHE = new ConcurrentHashMap<>();
+
+    private final float displayScale;
+    private final boolean hasBlockType;
+    private final ItemStack heldStack;
+    private final ItemStack displayStack;
+
+    // Built on first spawn, component types are only registered once the server is running
+    private final AtomicReferenceArray<Holder<EntityStore>> prototypes = new AtomicReferenceArray<>(4);
+
+    private PlantDisplayProperties(float displayScale, boolean hasBlockType, ItemStack heldStack, ItemStack displayStack) {
+        this.displayScale = displayScale;
+        this.hasBlockType = hasBlockType;
+        this.heldStack = heldStack;
+        this.displayStack = displayStack;
+    }
+
+    /**
+     * Gets the display properties of the plant item, resolving them on first use.
+     */
+    public static PlantDisplayProperties of(String itemId) {
+        PlantDisplayProperties properties = CACHE.get(itemId);
+        if (properties == null) {
+            properties = resolve(itemId);
+            CACHE.put(itemId, properties);
+        }
+        return properties;
+    }
+
+    /**
+     * Drops every cached entry, called when item assets are reloaded.
+     */
+    public static void invalidate() {
+        CACHE.clear();
+    }
+
+    private static PlantDisplayProperties resolve(String itemId) {
+        ItemStack heldStack = new ItemStack(itemId, 1);
+        Item item = heldStack.getItem();
+
+        float scale = DEFAULT_ICON_SCALE;
+        AssetIconProperties iconProps = item.getIconProperties();
+        if (iconProps != null) {
+            scale = iconProps.getScale();
+        }
+
+        return create(itemId, scale * DISPLAY_SCALE_FACTOR, item.hasBlockType());
+    }
+
+    /**
+     * Creates uncached display properties without looking up the item asset.
+     *
+     * @param displayScale Scale of the display entities
+     * @param hasBlockType Whether the item places a block
+     */
+    public static PlantDisplayProperties create(String itemId, float displayScale, boolean hasBlockType) {
+        ItemStack displayStack = new ItemStack(itemId, 1);
+        displayStack.setOverrideDroppedItemAnimation(true);
+        return new PlantDisplayProperties(displayScale, hasBlockType, new ItemStack(itemId, 1), displayStack);
+    }
+
+    public float getDisplayScale() {
+        return displayScale;
+    }
+
+    /**
+     * Whether the plant item places a block, in which case its display entity is rendered as that block.
+     */
+    public boolean hasBlockType() {
+        return hasBlockType;
+    }
+
+    /**
+     * Shared single plant stack of this item, as stored on display entities and dropped when the plant is released.
+     */
+    public ItemStack getHeldStack() {
+        return heldStack;
+    }
+
+    /**
+     * Shared stack shown by the item component of display entities.
+     */
+    public ItemStack getDisplayStack() {
+        return displayStack;
+    }
+
+    /**
+     * Prototype holder of the plant's display entities. Clone it, never add to it directly.
+     *
+     * @param staticProp    Whether displays are built as static props, see {@link PlantDisplayUtil#isStaticProp}
+     * @param nonSerialized Whether displays are left out of saves, as with lazy display materialization
+     */
+    public Holder<EntityStore> getPrototype(boolean staticProp, boolean nonSerialized) {
+        int variant = (staticProp ? 1 : 0) | (nonSerialized ? 2 : 0);
+        Holder<EntityStore> current = prototypes.get(variant);
+        if (current == null) {
+            current = PlantDisplayUtil.buildPrototype(this, staticProp, nonSerialized);
+            prototypes.set(variant, current);
+        }
+        return current;
+    }
+}
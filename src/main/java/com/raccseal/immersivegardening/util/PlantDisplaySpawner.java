@@ -0,0 +1,137 @@
+package com.raccseal.immersivegardening.util;
+
+import com.raccseal.immersivegardening.component.PlantDisplayComponent;
+
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.component.NonSerialized;
+import com.hypixel.hytale.math.Axis;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3f;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.entity.UUIDComponent;
+import com.hypixel.hytale.server.core.entity.entities.BlockEntity;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.modules.entity.component.EntityScaleComponent;
+import com.hypixel.hytale.server.core.modules.entity.component.HeadRotation;
+import com.hypixel.hytale.server.core.modules.entity.component.PropComponent;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.entity.item.ItemComponent;
+import com.hypixel.hytale.server.core.modules.entity.item.PreventItemMerging;
+import com.hypixel.hytale.server.core.modules.entity.item.PreventPickup;
+import com.hypixel.hytale.server.core.modules.entity.tracker.NetworkId;
+import com.hypixel.hytale.server.core.prefab.PrefabCopyableComponent;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Assembles plant display entities from the component types and entity store it is given.
+ * {@link PlantDisplayUtil} runs it against the server's component types and the world's entity store;
+ * the benchmarks run the same code against component types registered outside a running server.
+ */
+public class PlantDisplaySpawner {
+    private final ComponentTypes types;
+    private final Supplier<Holder<EntityStore>> holders;
+
+    public PlantDisplaySpawner(ComponentTypes types, Supplier<Holder<EntityStore>> holders) {
+        this.types = types;
+        this.holders = holders;
+    }
+
+    /**
+     * Where spawned displays go. The server implementation adds them to the world's entity store.
+     */
+    public interface Target {
+        int takeNextNetworkId();
+
+        /**
+         * @return Whether the entity was added
+         */
+        boolean addEntity(Holder<EntityStore> holder);
+    }
+
+    /**
+     * Component types of everything a display entity is made of.
+     */
+    public record ComponentTypes(
+            ComponentType<EntityStore, TransformComponent> transform,
+            ComponentType<EntityStore, HeadRotation> headRotation,
+            ComponentType<EntityStore, NetworkId> networkId,
+            ComponentType<EntityStore, UUIDComponent> uuid,
+            ComponentType<EntityStore, PlantDisplayComponent> plantDisplay,
+            ComponentType<EntityStore, ItemComponent> item,
+            ComponentType<EntityStore, PreventPickup> preventPickup,
+            ComponentType<EntityStore, PreventItemMerging> preventItemMerging,
+            ComponentType<EntityStore, EntityScaleComponent> scale,
+            ComponentType<EntityStore, PropComponent> prop,
+            ComponentType<EntityStore, PrefabCopyableComponent> prefabCopyable,
+            ComponentType<EntityStore, BlockEntity> blockEntity,
+            ComponentType<EntityStore, NonSerialized<EntityStore>> nonSerialized
+    ) {
+    }
+
+    /**
+     * Builds the prototype holder for the displays of a plant: every component that is the same for all of them.
+     * Position, rotation, network id, UUID and the {@link PlantDisplayComponent} are added per spawn.
+     *
+     * @param staticProp    Leave out the dropped item components, see {@link PlantDisplayUtil#isStaticProp}
+     * @param nonSerialized Don't save the display, the planter block entity is the source of truth
+     */
+    public Holder<EntityStore> buildPrototype(PlantDisplayProperties properties, boolean staticProp, boolean nonSerialized) {
+        Holder<EntityStore> prototype = holders.get();
+        if (!staticProp) {
+            // Add item display component with max pickup delay to prevent pickup
+            prototype.addComponent(types.item(), newDisplayItemComponent(properties));
+            prototype.addComponent(types.preventPickup(), PreventPickup.INSTANCE);
+            prototype.addComponent(types.preventItemMerging(), PreventItemMerging.INSTANCE);
+        }
+        prototype.addComponent(types.scale(), new EntityScaleComponent(properties.getDisplayScale()));
+        prototype.ensureComponent(types.prop());
+        prototype.ensureComponent(types.prefabCopyable());
+        if (properties.hasBlockType()) {
+            prototype.addComponent(types.blockEntity(), new BlockEntity(properties.getHeldStack().getItemId()));
+        }
+        if (nonSerialized) {
+            prototype.addComponent(types.nonSerialized(), NonSerialized.get());
+        }
+        return prototype;
+    }
+
+    /**
+     * Spawns one display from a clone of the prototype.
+     *
+     * @param seed Rotation seed of the plant, or 0 for a random yaw
+     * @return The UUID of the new display entity, or null if it could not be added
+     */
+    @Nullable
+    public UUID spawn(Target target, Holder<EntityStore> prototype, ItemStack heldStack, Vector3i planterPos, Vector3d offset, int seed) {
+        Holder<EntityStore> holder = prototype.clone();
+        UUID entityUUID = UUID.randomUUID();
+        addPerEntityComponents(holder, heldStack, planterPos, offset, seed, target.takeNextNetworkId(), entityUUID);
+        return target.addEntity(holder) ? entityUUID : null;
+    }
+
+    /**
+     * Adds the components that differ between the displays of a plant to a holder that has the shared ones.
+     */
+    public void addPerEntityComponents(Holder<EntityStore> holder, ItemStack heldStack, Vector3i planterPos, Vector3d offset, int seed, int networkId, UUID entityUUID) {
+        Vector3d displayPosition = planterPos.toVector3d().add(offset);
+        Vector3f rotation = new Vector3f();
+        rotation.addRotationOnAxis(Axis.Y, seed != 0 ? PlantDisplayUtil.yawOf(seed) : (int) (Math.random() * 360));
+        holder.addComponent(types.transform(), new TransformComponent(displayPosition, rotation));
+        holder.addComponent(types.headRotation(), new HeadRotation(rotation));
+        holder.addComponent(types.networkId(), new NetworkId(networkId));
+        holder.putComponent(types.uuid(), new UUIDComponent(entityUUID));
+        holder.addComponent(types.plantDisplay(), new PlantDisplayComponent(heldStack, planterPos));
+    }
+
+    static ItemComponent newDisplayItemComponent(PlantDisplayProperties properties) {
+        ItemComponent itemComponent = new ItemComponent(properties.getDisplayStack());
+        itemComponent.setPickupDelay(Float.MAX_VALUE);
+        return itemComponent;
+    }
+}
@@ -1,19 +1,20 @@
 package com.raccseal.immersivegardening.util;
 import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
+import com.raccseal.immersivegardening.component.BoundPlantEntityComponent;
 import com.raccseal.immersivegardening.component.PlantDisplayComponent;
+import com.raccseal.immersivegardening.resource.PlantDisplayIndex;
 
 import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Holder;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.RemoveReason;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.logger.HytaleLogger;
-import com.hypixel.hytale.math.Axis;
+import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.vector.Vector3d;
-import com.hypixel.hytale.math.vector.Vector3f;
 import com.hypixel.hytale.math.vector.Vector3i;
-import com.hypixel.hytale.server.core.asset.type.item.config.AssetIconProperties;
-import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.entity.UUIDComponent;
 import com.hypixel.hytale.server.core.entity.entities.BlockEntity;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
@@ -26,16 +27,25 @@ import com.hypixel.hytale.server.core.modules.entity.item.PreventItemMerging;
 import com.hypixel.hytale.server.core.modules.entity.item.PreventPickup;
 import com.hypixel.hytale.server.core.modules.entity.tracker.NetworkId;
 import com.hypixel.hytale.server.core.prefab.PrefabCopyableComponent;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import org.jspecify.annotations.Nullable;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class PlantDisplayUtil {
     private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
 
+    // Created on first spawn, component types are only registered once the server is running
+    @Nullable
+    private static volatile PlantDisplaySpawner spawner;
+
     /**
      * Creates or updates the display entities for plants in a planter.
      *
@@ -48,6 +58,16 @@ public class PlantDisplayUtil {
      */
     @Nullable
     public static UUID[] remakePlantEntities(Store<EntityStore> store, @Nullable Ref<EntityStore> existingRef, @Nullable ItemStack[] plantItems, Vector3i planterPos, Vector3d[] entityOffsets) {
+        return remakePlantEntities(store, existingRef, plantItems, planterPos, entityOffsets, null);
+    }
+
+    /**
+     * Creates or updates the display entities for plants in a planter, each facing the yaw derived from its rotation seed.
+     *
+     * @param seeds Rotation seed for each entity, see {@link #newPlantSeed()}. Entities without one get a random yaw
+     */
+    @Nullable
+    public static UUID[] remakePlantEntities(Store<EntityStore> store, @Nullable Ref<EntityStore> existingRef, @Nullable ItemStack[] plantItems, Vector3i planterPos, Vector3d[] entityOffsets, @Nullable int[] seeds) {
 
         if (existingRef != null) {
             store.removeEntity(existingRef, RemoveReason.REMOVE);
@@ -57,6 +77,9 @@ public class PlantDisplayUtil {
         }
 
         final int entityCount = entityOffsets.length;
+        PlantDisplaySpawner.Target target = new StoreTarget(store);
+        // With lazy materialization the planter block entity is the source of truth, the display is rebuilt whenever its chunk loads
+        boolean lazy = ImmersiveGardeningPlugin.get().getGardeningConfig().isLazyDisplayMaterialization();
 
         // Initialize all holders
         UUID[] uuids = new UUID[entityCount];
@@ -69,49 +92,23 @@ public class PlantDisplayUtil {
                 continue;
             }
 
-            float scale = 0.5f;
-            Item item = plantItem.getItem();
-            AssetIconProperties iconProps = item.getIconProperties();
-            if (iconProps != null) {
-                scale = iconProps.getScale();
-            }
-
-            Holder<EntityStore> holder = EntityStore.REGISTRY.newHolder();
-            Vector3d displayPosition = planterPos.toVector3d().add(entityOffsets[i]);
-            Vector3f rotation = new Vector3f();
-            UUID entityUUID = UUID.randomUUID();
-
-            rotation.addRotationOnAxis(Axis.Y, (int) (Math.random() * 360));
-            holder.addComponent(TransformComponent.getComponentType(), new TransformComponent(displayPosition, rotation));
-            holder.addComponent(HeadRotation.getComponentType(), new HeadRotation(rotation));
-            holder.addComponent(NetworkId.getComponentType(), new NetworkId(store.getExternalData().takeNextNetworkId()));
-            holder.putComponent(UUIDComponent.getComponentType(), new UUIDComponent(entityUUID));
-
-            // Add item display component with max pickup delay to prevent pickup
-            ItemStack displayStack = new ItemStack(plantItem.getItemId(), 1);
-            displayStack.setOverrideDroppedItemAnimation(true);
-            ItemComponent itemComponent = new ItemComponent(displayStack);
-            itemComponent.setPickupDelay(Float.MAX_VALUE);
-
-            holder.addComponent(ItemComponent.getComponentType(), itemComponent);
-            holder.addComponent(ImmersiveGardeningPlugin.get().getPlantDisplayComponent(), new PlantDisplayComponent(plantItem.withQuantity(1), planterPos));
-            holder.addComponent(PreventPickup.getComponentType(), PreventPickup.INSTANCE);
-            holder.addComponent(PreventItemMerging.getComponentType(), PreventItemMerging.INSTANCE);
-            holder.addComponent(EntityScaleComponent.getComponentType(), new EntityScaleComponent(scale * 0.7f));
-            holder.ensureComponent(PropComponent.getComponentType());
-            holder.ensureComponent(PrefabCopyableComponent.getComponentType());
-            if (item.hasBlockType()) {
-                holder.addComponent(BlockEntity.getComponentType(), new BlockEntity(plantItem.getItemId()));
+            PlantDisplayProperties properties = PlantDisplayProperties.of(plantItem.getItemId());
+            // Plain single plants share the cached stack, anything carrying extra data keeps its own copy
+            ItemStack heldStack = plantItem.getQuantity() == 1 ? plantItem : plantItem.withQuantity(1);
+            if (heldStack.isStackableWith(properties.getHeldStack())) {
+                heldStack = properties.getHeldStack();
             }
 
-            // Add the new entity to the world
-            Ref<EntityStore> newRef = store.addEntity(holder, AddReason.SPAWN);
-            if (newRef == null) {
+            // Everything shared by the displays of this plant comes from its prototype, only per-entity data is patched in
+            int seed = seeds != null && i < seeds.length ? seeds[i] : 0;
+            UUID entityUUID = spawner().spawn(target, properties.getPrototype(isStaticProp(properties), lazy), heldStack, planterPos, entityOffsets[i], seed);
+            if (entityUUID == null) {
                 LOGGER.atWarning().log("  Entity " + i + " creation failed");
                 uuids[i] = null;
                 continue;
             }
             uuids[i] = entityUUID;
+            ImmersiveGardeningPlugin.get().getMetrics().displaySpawned();
         }
         return uuids;
     }
@@ -135,6 +132,27 @@ public class PlantDisplayUtil {
         );
     }
 
+    /**
+     * Convenience overload for a single plant item with a single entity offset and a rotation seed.
+     */
+    public static UUID[] remakePlantEntities(
+            Store<EntityStore> store,
+            @Nullable Ref<EntityStore> existingRef,
+            @Nullable ItemStack plantItem,
+            Vector3i planterPos,
+            Vector3d entityOffsets,
+            int seed
+    ) {
+        return remakePlantEntities(
+                store,
+                existingRef,
+                plantItem == null ? null : new ItemStack[] { plantItem },
+                planterPos,
+                new Vector3d[] { entityOffsets },
+                new int[] { seed }
+        );
+    }
+
     /**
      * Convenience overload for a single plant item with multiple entity offsets.
      */
@@ -155,6 +173,286 @@ public class PlantDisplayUtil {
     }
 
 
+    /**
+     * Whether displays of the plant are built as static props, rendered through the plant's block model only.
+     * Static props carry no dropped item components, so the engine's item systems (pickup, merging, despawn, physics)
+     * never visit them. Plants without a block type can only be rendered as an item and keep the dropped item archetype.
+     */
+    public static boolean isStaticProp(PlantDisplayProperties properties) {
+        return properties.hasBlockType() && ImmersiveGardeningPlugin.get().getGardeningConfig().isStaticPlantProps();
+    }
+
+    /**
+     * Builds a prototype holder for the displays of a plant with the server's component types.
+     */
+    static Holder<EntityStore> buildPrototype(PlantDisplayProperties properties, boolean staticProp, boolean nonSerialized) {
+        return spawner().buildPrototype(properties, staticProp, nonSerialized);
+    }
+
+    private static PlantDisplaySpawner spawner() {
+        PlantDisplaySpawner current = spawner;
+        if (current == null) {
+            current = new PlantDisplaySpawner(new PlantDisplaySpawner.ComponentTypes(
+                    TransformComponent.getComponentType(),
+                    HeadRotation.getComponentType(),
+                    NetworkId.getComponentType(),
+                    UUIDComponent.getComponentType(),
+                    ImmersiveGardeningPlugin.get().getPlantDisplayComponent(),
+                    ItemComponent.getComponentType(),
+                    PreventPickup.getComponentType(),
+                    PreventItemMerging.getComponentType(),
+                    EntityScaleComponent.getComponentType(),
+                    PropComponent.getComponentType(),
+                    PrefabCopyableComponent.getComponentType(),
+                    BlockEntity.getComponentType(),
+                    EntityStore.REGISTRY.getNonSerializedComponentType()
+            ), EntityStore.REGISTRY::newHolder);
+            spawner = current;
+        }
+        return current;
+    }
+
+    /**
+     * Spawns into the world's entity store.
+     */
+    private record StoreTarget(Store<EntityStore> store) implements PlantDisplaySpawner.Target {
+
+        @Override
+        public int takeNextNetworkId() {
+            return store.getExternalData().takeNextNetworkId();
+        }
+
+        @Override
+        public boolean addEntity(Holder<EntityStore> holder) {
+            return store.addEntity(holder, AddReason.SPAWN) != null;
+        }
+    }
+
+    /**
+     * Moves a display entity loaded from a save to the archetype the current configuration builds,
+     * adding or removing the dropped item components depending on {@link #isStaticProp}.
+     */
+    public static void migrateDisplayArchetype(Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer, Ref<EntityStore> displayRef, PlantDisplayComponent displayComp) {
+        ItemStack heldStack = displayComp.getHeldStack();
+        if (heldStack == null) {
+            return;
+        }
+
+        PlantDisplayProperties properties = PlantDisplayProperties.of(heldStack.getItemId());
+        boolean hasItemComponent = store.getComponent(displayRef, ItemComponent.getComponentType()) != null;
+        if (isStaticProp(properties) && hasItemComponent) {
+            commandBuffer.removeComponent(displayRef, ItemComponent.getComponentType());
+            if (store.getComponent(displayRef, PreventPickup.getComponentType()) != null) {
+                commandBuffer.removeComponent(displayRef, PreventPickup.getComponentType());
+            }
+            if (store.getComponent(displayRef, PreventItemMerging.getComponentType()) != null) {
+                commandBuffer.removeComponent(displayRef, PreventItemMerging.getComponentType());
+            }
+            if (store.getComponent(displayRef, BlockEntity.getComponentType()) == null) {
+                commandBuffer.putComponent(displayRef, BlockEntity.getComponentType(), new BlockEntity(heldStack.getItemId()));
+            }
+        } else if (!isStaticProp(properties) && !hasItemComponent) {
+            commandBuffer.putComponent(displayRef, ItemComponent.getComponentType(), PlantDisplaySpawner.newDisplayItemComponent(properties));
+            commandBuffer.putComponent(displayRef, PreventPickup.getComponentType(), PreventPickup.INSTANCE);
+            commandBuffer.putComponent(displayRef, PreventItemMerging.getComponentType(), PreventItemMerging.INSTANCE);
+        }
+    }
+
+    /**
+     * A new random rotation seed for a plant, to be recorded on its planter slot.
+     */
+    public static int newPlantSeed() {
+        return 1 + ThreadLocalRandom.current().nextInt(255);
+    }
+
+    /**
+     * Yaw in degrees of a plant with the given rotation seed.
+     */
+    public static int yawOf(int seed) {
+        return (seed - 1) * 360 / 255;
+    }
+
+    /**
+     * Rotation seed closest to a yaw in degrees, the inverse of {@link #yawOf}.
+     */
+    public static int seedOfYaw(float yawDegrees) {
+        return 1 + Math.floorMod(Math.round(yawDegrees * 255f / 360f), 255);
+    }
+
+    /**
+     * Rotation seed matching the way an existing display faces, so recording it on a slot doesn't turn the plant.
+     * Falls back to a new seed if the display has no transform.
+     */
+    public static int seedOf(Store<EntityStore> store, Ref<EntityStore> displayRef) {
+        TransformComponent transform = store.getComponent(displayRef, TransformComponent.getComponentType());
+        if (transform == null) {
+            return newPlantSeed();
+        }
+        return seedOfYaw((float) Math.toDegrees(transform.getRotation().getYaw()));
+    }
+
+    /**
+     * Bitmask of the planter's slots that are backed by a live display entity bound to the planter.
+     */
+    public static int liveSlotMask(Store<EntityStore> store, BoundPlantEntityComponent boundComp, Vector3i planterPos) {
+        int liveSlots = 0;
+        PlantDisplayIndex displayIndex = store.getResource(ImmersiveGardeningPlugin.get().getPlantDisplayIndex());
+        for (Ref<EntityStore> displayRef : displayIndex.getDisplays(planterPos)) {
+            UUIDComponent uuidComponent = store.getComponent(displayRef, UUIDComponent.getComponentType());
+            if (uuidComponent == null) {
+                continue;
+            }
+            for (int slot = 0; slot < boundComp.getSlotCount(); slot++) {
+                if (boundComp.isAttachedAt(slot, uuidComponent.getUuid())) {
+                    liveSlots |= 1 << slot;
+                    break;
+                }
+            }
+        }
+        return liveSlots;
+    }
+
+    /**
+     * Spawns display entities for every slot of the planter that has a recorded plant but no live display.
+     * Must run on the world thread, outside of any store processing. Does nothing if the chunk is not loaded.
+     *
+     * @return The number of display entities spawned
+     */
+    public static int materializePlanter(World world, Vector3i planterPos) {
+        return materializePlanter(world, planterPos, -1);
+    }
+
+    /**
+     * Spawns display entities for the slots in {@code slotMask} that have a recorded plant but no live display.
+     *
+     * @return The number of display entities spawned
+     */
+    public static int materializePlanter(World world, Vector3i planterPos, int slotMask) {
+        WorldChunk worldChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(planterPos.getX(), planterPos.getZ()));
+        BoundPlantEntityComponent boundComp = findBoundComponent(world, worldChunk, planterPos);
+        if (worldChunk == null || boundComp == null || boundComp.getPlantMask() == 0) {
+            return 0;
+        }
+
+        BlockType blockType = worldChunk.getBlockType(planterPos);
+        if (!PlanterBlockTypes.isPlanterBlock(blockType)) {
+            return 0;
+        }
+        int rotation = worldChunk.getRotationIndex(planterPos.getX(), planterPos.getY(), planterPos.getZ());
+        Vector3d[] offsets = PlanterSlotLayouts.getSlots(blockType, rotation);
+
+        Store<EntityStore> store = world.getEntityStore().getStore();
+        int liveSlots = liveSlotMask(store, boundComp, planterPos);
+        int spawned = 0;
+        for (int slot = 0; slot < Math.min(boundComp.getSlotCount(), offsets.length); slot++) {
+            String plantItemId = boundComp.getPlantItemId(slot);
+            if (plantItemId == null || (liveSlots & (1 << slot)) != 0 || (slotMask & (1 << slot)) == 0) {
+                continue;
+            }
+            if (boundComp.getPlantSeed(slot) == 0) {
+                // Planted before seeds were recorded, pin the rotation from now on
+                boundComp.setPlantSeed(slot, newPlantSeed());
+            }
+            UUID[] uuids = remakePlantEntities(store, null, PlantDisplayProperties.of(plantItemId).getHeldStack(), planterPos, offsets[slot], boundComp.getPlantSeed(slot));
+            if (uuids != null && uuids.length > 0 && uuids[0] != null) {
+                boundComp.setAttachedEntityAt(slot, uuids[0]);
+                spawned++;
+            }
+        }
+        return spawned;
+    }
+
+    /**
+     * Moves the plant of a display entity saved as a full entity record onto its planter slot,
+     * so the slot can be rebuilt once the display is no longer saved.
+     * Used when lazy display materialization is turned on for a world that stored full displays.
+     */
+    public static void adoptLegacyDisplay(World world, Vector3i planterPos, Ref<EntityStore> displayRef) {
+        BoundPlantEntityComponent boundComp = findBoundComponent(world, planterPos);
+        if (boundComp == null || !displayRef.isValid()) {
+            return;
+        }
+
+        Store<EntityStore> store = world.getEntityStore().getStore();
+        int slot = slotOf(store, boundComp, displayRef);
+        PlantDisplayComponent displayComp = store.getComponent(displayRef, ImmersiveGardeningPlugin.get().getPlantDisplayComponent());
+        if (slot < 0 || displayComp == null || displayComp.getHeldStack() == null) {
+            return;
+        }
+        if (boundComp.getPlantItemId(slot) == null) {
+            boundComp.setPlantItemId(slot, displayComp.getHeldStack().getItemId());
+        }
+        if (boundComp.getPlantSeed(slot) == 0) {
+            boundComp.setPlantSeed(slot, seedOf(store, displayRef));
+        }
+    }
+
+    /**
+     * Removes every display entity bound to the planter without dropping anything.
+     * The plants stay recorded on the planter block entity.
+     */
+    public static void dematerializePlanter(World world, Vector3i planterPos) {
+        dematerializePlanter(world, planterPos, 0);
+    }
+
+    /**
+     * Removes the display entities bound to the planter except those of the slots in {@code keepMask},
+     * without dropping anything. Displays that cannot be matched to a slot are removed as well.
+     */
+    public static void dematerializePlanter(World world, Vector3i planterPos, int keepMask) {
+        Store<EntityStore> store = world.getEntityStore().getStore();
+        BoundPlantEntityComponent boundComp = keepMask == 0 ? null : findBoundComponent(world, planterPos);
+
+        List<Ref<EntityStore>> displays = new ArrayList<>(store.getResource(ImmersiveGardeningPlugin.get().getPlantDisplayIndex()).getDisplays(planterPos));
+        for (Ref<EntityStore> displayRef : displays) {
+            if (!displayRef.isValid()) {
+                continue;
+            }
+            int slot = boundComp == null ? -1 : slotOf(store, boundComp, displayRef);
+            if (slot >= 0 && (keepMask & (1 << slot)) != 0) {
+                continue;
+            }
+            store.removeEntity(displayRef, RemoveReason.UNLOAD);
+        }
+    }
+
+    /**
+     * Looks up the bound plant component of the planter block entity at the given position.
+     *
+     * @return The component, or null if the chunk is not loaded or the planter holds no plants
+     */
+    @Nullable
+    public static BoundPlantEntityComponent findBoundComponent(World world, Vector3i planterPos) {
+        return findBoundComponent(world, world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(planterPos.getX(), planterPos.getZ())), planterPos);
+    }
+
+    @Nullable
+    private static BoundPlantEntityComponent findBoundComponent(World world, @Nullable WorldChunk worldChunk, Vector3i planterPos) {
+        if (worldChunk == null) {
+            return null;
+        }
+        Ref<ChunkStore> blockRef = worldChunk.getBlockComponentEntity(planterPos.getX(), planterPos.getY(), planterPos.getZ());
+        if (blockRef == null) {
+            return null;
+        }
+        return world.getChunkStore().getStore().getComponent(blockRef, ImmersiveGardeningPlugin.get().getBoundPlantEntityComponent());
+    }
+
+    /**
+     * Slot the display entity is bound to, or -1 if it is not bound to any slot of the planter.
+     */
+    public static int slotOf(Store<EntityStore> store, BoundPlantEntityComponent boundComp, Ref<EntityStore> displayRef) {
+        UUIDComponent uuidComponent = store.getComponent(displayRef, UUIDComponent.getComponentType());
+        if (uuidComponent != null) {
+            for (int slot = 0; slot < boundComp.getSlotCount(); slot++) {
+                if (boundComp.isAttachedAt(slot, uuidComponent.getUuid())) {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
     /**
      * Removes a plant display entity completely.
      */
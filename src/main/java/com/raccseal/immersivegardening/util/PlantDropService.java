@@ -0,0 +1,80 @@
+package com.raccseal.immersivegardening.util;
+
+import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3f;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.modules.entity.item.ItemComponent;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Single place where plants released from planters are dropped into the world.
+ * Drops are queued per block for the current tick and spawned together, identical stacks merged,
+ * with the same position spread and pickup delay no matter which path released them.
+ */
+public class PlantDropService {
+    // Drops appear just above the planter, spread a little so stacks from neighbouring blocks don't overlap
+    private static final double DROP_HEIGHT = 1.1;
+    private static final double DROP_SPREAD = 0.2;
+    private static final float PICKUP_DELAY = 0.5f;
+
+    private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(SplittableRandom::new);
+
+    /**
+     * Queues a plant to drop at the planter position. Must be called on the world thread.
+     */
+    public static void queueDrop(Store<EntityStore> store, Vector3i planterPos, @Nullable ItemStack stack) {
+        if (stack == null || stack.isEmpty()) {
+            return;
+        }
+        store.getResource(ImmersiveGardeningPlugin.get().getPendingPlantDrops()).add(planterPos, stack);
+    }
+
+    /**
+     * Spawns the drained drops. Must run outside of any store processing.
+     *
+     * @param drops Drops keyed by packed block position
+     */
+    public static void spawnDrops(Store<EntityStore> store, Map<Long, List<ItemStack>> drops) {
+        SplittableRandom random = RANDOM.get();
+        drops.forEach((packed, stacks) -> {
+            for (ItemStack stack : stacks) {
+                Vector3d dropPosition = new Vector3d(
+                        PlanterPositionUtil.unpackX(packed) + (random.nextDouble() - 0.5) * DROP_SPREAD,
+                        PlanterPositionUtil.unpackY(packed) + DROP_HEIGHT,
+                        PlanterPositionUtil.unpackZ(packed) + (random.nextDouble() - 0.5) * DROP_SPREAD
+                );
+                spawnDrop(store, stack, dropPosition);
+            }
+        });
+    }
+
+    private static void spawnDrop(Store<EntityStore> store, ItemStack stack, Vector3d dropPosition) {
+        Holder<EntityStore> itemHolder = ItemComponent.generateItemDrop(
+                store,
+                stack,
+                dropPosition,
+                Vector3f.ZERO,
+                0f, 0f, 0f
+        );
+
+        if (itemHolder != null) {
+            ItemComponent itemComponent = itemHolder.getComponent(ItemComponent.getComponentType());
+            if (itemComponent != null) {
+                itemComponent.setPickupDelay(PICKUP_DELAY);
+            }
+            store.addEntity(itemHolder, AddReason.SPAWN);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.raccseal.immersivegardening.util;
+
+import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
+import com.raccseal.immersivegardening.config.ImmersiveGardeningConfig;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set of item assets that can be planted, built once when item assets load.
+ * An item is plantable if it has one of the configured plantable categories or its id is listed as an extra plantable item.
+ * Replaces scanning the category array of the held item on every insert attempt.
+ */
+public class PlantableItems {
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    @Nullable
+    private static volatile Set<Item> plantable;
+
+    /**
+     * Rebuilds the set from the currently loaded item assets and the plugin config.
+     * Called on startup and whenever item assets are (re)loaded.
+     */
+    public static void rebuild() {
+        ImmersiveGardeningConfig config = ImmersiveGardeningPlugin.get().getGardeningConfig();
+        Set<String> categories = toSet(config.getPlantableCategories());
+        Set<String> extraItems = toSet(config.getExtraPlantableItems());
+
+        Map<String, Item> assets = Item.getAssetMap().getAssetMap();
+        Set<Item> rebuilt = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<String, Item> entry : assets.entrySet()) {
+            if (extraItems.contains(entry.getKey()) || hasAnyCategory(entry.getValue(), categories)) {
+                rebuilt.add(entry.getValue());
+            }
+        }
+
+        plantable = rebuilt;
+        LOGGER.atInfo().log("Found " + rebuilt.size() + " plantable items out of " + assets.size());
+    }
+
+    public static boolean isPlantable(@Nullable ItemStack stack) {
+        return stack != null && !stack.isEmpty() && isPlantable(stack.getItem());
+    }
+
+    public static boolean isPlantable(@Nullable Item item) {
+        Set<Item> current = plantable;
+        if (current == null) {
+            rebuild();
+            current = plantable;
+        }
+        return item != null && current.contains(item);
+    }
+
+    /**
+     * Copies a config list into a set, tolerating a missing list, duplicates and null entries.
+     */
+    private static Set<String> toSet(String @Nullable [] values) {
+        if (values == null) {
+            return Collections.emptySet();
+        }
+        Set<String> set = new HashSet<>(Arrays.asList(values));
+        set.remove(null);
+        return set;
+    }
+
+    private static boolean hasAnyCategory(Item item, Set<String> categories) {
+        String[] itemCategories = item.getCategories();
+        if (itemCategories == null) {
+            return false;
+        }
+        for (String category : itemCategories) {
+            if (categories.contains(category)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,111 @@
+package com.raccseal.immersivegardening.util;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Lookup table classifying block types as planters, built once when block type assets load.
+ * Replaces string matching on block ids in the break and validation hot paths.
+ */
+public class PlanterBlockTypes {
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    @Nullable
+    private static volatile Table table;
+
+    /**
+     * Rebuilds the table from the currently loaded block type assets.
+     * Called on startup and whenever block type assets are (re)loaded.
+     */
+    public static void rebuild() {
+        Map<String, BlockType> assets = BlockType.getAssetMap().getAssetMap();
+
+        int size = 0;
+        for (String key : assets.keySet()) {
+            size = Math.max(size, BlockType.getAssetMap().getIndex(key) + 1);
+        }
+
+        PlanterVariant[] byIndex = new PlanterVariant[size];
+        Map<BlockType, PlanterVariant> byType = new IdentityHashMap<>();
+        for (Map.Entry<String, BlockType> entry : assets.entrySet()) {
+            PlanterVariant variant = PlanterVariant.classify(entry.getKey());
+            if (variant == null) {
+                continue;
+            }
+            int index = BlockType.getAssetMap().getIndex(entry.getKey());
+            if (index >= 0) {
+                byIndex[index] = variant;
+            }
+            byType.put(entry.getValue(), variant);
+        }
+
+        table = new Table(byIndex, byType);
+        LOGGER.atInfo().log("Classified " + byType.size() + " planter block types out of " + assets.size());
+    }
+
+    private static Table table() {
+        Table current = table;
+        if (current == null) {
+            rebuild();
+            current = table;
+        }
+        return current;
+    }
+
+    public static boolean isPlanterBlock(int blockId) {
+        return table().getVariant(blockId) != null;
+    }
+
+    public static boolean isPlanterBlock(@Nullable BlockType blockType) {
+        return getVariant(blockType) != null;
+    }
+
+    @Nullable
+    public static PlanterVariant getVariant(int blockId) {
+        return table().getVariant(blockId);
+    }
+
+    @Nullable
+    public static PlanterVariant getVariant(@Nullable BlockType blockType) {
+        return blockType == null ? null : table().getVariant(blockType);
+    }
+
+    /**
+     * Immutable snapshot of the classification, indexed by block id and by block type instance.
+     */
+    public static final class Table {
+        private final PlanterVariant[] byIndex;
+        private final Map<BlockType, PlanterVariant> byType;
+
+        public Table(PlanterVariant[] byIndex, Map<BlockType, PlanterVariant> byType) {
+            this.byIndex = byIndex;
+            this.byType = byType;
+        }
+
+        /**
+         * Builds a table from block ids ordered by their asset index.
+         */
+        public static Table fromIds(String[] idsByIndex) {
+            PlanterVariant[] byIndex = new PlanterVariant[idsByIndex.length];
+            for (int i = 0; i < idsByIndex.length; i++) {
+                byIndex[i] = PlanterVariant.classify(idsByIndex[i]);
+            }
+            return new Table(byIndex, new IdentityHashMap<>());
+        }
+
+        @Nullable
+        public PlanterVariant getVariant(int blockId) {
+            return blockId >= 0 && blockId < byIndex.length ? byIndex[blockId] : null;
+        }
+
+        @Nullable
+        public PlanterVariant getVariant(BlockType blockType) {
+            return byType.get(blockType);
+        }
+    }
+}
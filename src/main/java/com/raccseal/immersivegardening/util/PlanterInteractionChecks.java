@@ -0,0 +1,81 @@
+package com.raccseal.immersivegardening.util;
+
+import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
+import com.raccseal.immersivegardening.component.BoundPlantEntityComponent;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Checks deciding whether a planter interaction can succeed, shared by the predicted (simulated)
+ * and the authoritative path of the planter interactions so both always agree.
+ * None of them change any state.
+ */
+public class PlanterInteractionChecks {
+
+    /**
+     * Bitmask of the slots that hold a plant: those with a live display entity.
+     * Slots whose stored entity no longer exists are reused, unless displays are materialized lazily,
+     * where a recorded plant keeps its slot even while its display is not spawned.
+     */
+    public static int usedSlotMask(Store<EntityStore> store, @Nullable BoundPlantEntityComponent boundComp, Vector3i planterPos) {
+        if (boundComp == null) {
+            return 0;
+        }
+        int usedSlots = PlantDisplayUtil.liveSlotMask(store, boundComp, planterPos);
+        if (ImmersiveGardeningPlugin.get().getGardeningConfig().isLazyDisplayMaterialization()) {
+            usedSlots |= boundComp.getPlantMask();
+        }
+        return usedSlots;
+    }
+
+    /**
+     * The slot the next plant goes into: the lowest one not in the used slot mask.
+     */
+    public static int nextFreeSlot(int usedSlots) {
+        return Integer.numberOfTrailingZeros(~usedSlots);
+    }
+
+    /**
+     * Whether the planter block has a slot left for another plant, by the same rule inserts pick their slot with.
+     */
+    public static boolean hasFreeSlot(Store<EntityStore> store, @Nullable BlockType blockType, @Nullable BoundPlantEntityComponent boundComp, Vector3i planterPos) {
+        return nextFreeSlot(usedSlotMask(store, boundComp, planterPos)) < PlanterSlotLayouts.getCapacity(blockType);
+    }
+
+    public static boolean hasPlants(@Nullable BoundPlantEntityComponent boundComp) {
+        return boundComp != null && boundComp.hasPlants();
+    }
+
+    /**
+     * Predicts whether inserting the held item into the planter at the position succeeds.
+     */
+    public static boolean canInsert(World world, Vector3i planterPos, @Nullable ItemStack heldItem) {
+        if (!PlantableItems.isPlantable(heldItem)) {
+            return false;
+        }
+        // Never load a chunk to predict an interaction
+        WorldChunk worldChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(planterPos.getX(), planterPos.getZ()));
+        if (worldChunk == null) {
+            return false;
+        }
+        BlockType blockType = worldChunk.getBlockType(planterPos);
+        return blockType != null
+                && hasFreeSlot(world.getEntityStore().getStore(), blockType, PlantDisplayUtil.findBoundComponent(world, planterPos), planterPos);
+    }
+
+    /**
+     * Predicts whether removing the plants from the planter at the position succeeds.
+     */
+    public static boolean canRemove(World world, Vector3i planterPos) {
+        return hasPlants(PlantDisplayUtil.findBoundComponent(world, planterPos));
+    }
+}
@@ -0,0 +1,62 @@
+package com.raccseal.immersivegardening.util;
+
+import com.hypixel.hytale.component.ComponentAccessor;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.modules.block.BlockModule;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+
+import org.jspecify.annotations.Nullable;
+
+public class PlanterPositionUtil {
+
+    /**
+     * Packs a block position into a single long (26 bits x, 12 bits y, 26 bits z).
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (y & 0xFFF) << 26) | (long) (z & 0x3FFFFFF);
+    }
+
+    public static long pack(Vector3i position) {
+        return pack(position.getX(), position.getY(), position.getZ());
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << 26 >> 52);
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << 38 >> 38);
+    }
+
+    /**
+     * Resolves the world position of a block entity from its block state info.
+     *
+     * @return The block position, or null if the block entity is not attached to a loaded chunk
+     */
+    @Nullable
+    public static Vector3i blockPositionOf(ComponentAccessor<ChunkStore> accessor, Ref<ChunkStore> blockRef) {
+        BlockModule.BlockStateInfo info = accessor.getComponent(blockRef, BlockModule.BlockStateInfo.getComponentType());
+        if (info == null || info.getChunkRef() == null || !info.getChunkRef().isValid()) {
+            return null;
+        }
+
+        WorldChunk worldChunk = accessor.getComponent(info.getChunkRef(), WorldChunk.getComponentType());
+        if (worldChunk == null) {
+            return null;
+        }
+
+        int index = info.getIndex();
+        return new Vector3i(
+                ChunkUtil.worldCoordFromLocalCoord(worldChunk.getX(), ChunkUtil.xFromBlockInColumn(index)),
+                ChunkUtil.yFromBlockInColumn(index),
+                ChunkUtil.worldCoordFromLocalCoord(worldChunk.getZ(), ChunkUtil.zFromBlockInColumn(index))
+        );
+    }
+}
@@ -0,0 +1,113 @@
+package com.raccseal.immersivegardening.util;
+
+import com.raccseal.immersivegardening.ImmersiveGardeningPlugin;
+import com.raccseal.immersivegardening.component.PlanterComponent;
+
+import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Immutable registry of plant slot layouts for every planter block type and each of the 4 yaw rotations.
+ * Offsets are fully baked (rotated and shifted to the block center), so callers only add the planter position.
+ * Rebuilt whenever block type assets are (re)loaded.
+ */
+public class PlanterSlotLayouts {
+    public static final int ROTATIONS = 4;
+
+    private static final Vector3d[][] FALLBACK = bake(new Vector3d[]{new Vector3d(0.0, 0.5, 0.0)});
+
+    @Nullable
+    private static volatile Map<BlockType, Vector3d[][]> layouts;
+
+    /**
+     * Rebuilds the layouts from the currently loaded block type assets.
+     * Slots come from the {@link PlanterComponent} on the block type's block entity template,
+     * falling back to the built-in offsets of the planter variant.
+     */
+    public static void rebuild() {
+        Map<BlockType, Vector3d[][]> rebuilt = new IdentityHashMap<>();
+        for (BlockType blockType : BlockType.getAssetMap().getAssetMap().values()) {
+            PlanterVariant variant = PlanterVariant.classify(blockType.getId());
+            if (variant == null) {
+                continue;
+            }
+
+            Vector3d[] slots = slotsFromAsset(blockType);
+            rebuilt.put(blockType, bake(slots != null ? slots : defaultSlots(variant)));
+        }
+        layouts = rebuilt;
+    }
+
+    /**
+     * Gets the baked slot offsets for a planter block. The returned array is shared and must not be modified.
+     *
+     * @param rotation The block rotation index, as returned by {@code WorldChunk.getRotationIndex}
+     */
+    public static Vector3d[] getSlots(@Nullable BlockType blockType, int rotation) {
+        return layoutOf(blockType)[Math.floorMod(rotation, ROTATIONS)];
+    }
+
+    /**
+     * Number of plants the planter block can hold.
+     */
+    public static int getCapacity(@Nullable BlockType blockType) {
+        return layoutOf(blockType)[0].length;
+    }
+
+    private static Vector3d[][] layoutOf(@Nullable BlockType blockType) {
+        Map<BlockType, Vector3d[][]> current = layouts;
+        if (current == null) {
+            rebuild();
+            current = layouts;
+        }
+        Vector3d[][] layout = blockType == null ? null : current.get(blockType);
+        return layout != null ? layout : FALLBACK;
+    }
+
+    @Nullable
+    private static Vector3d[] slotsFromAsset(BlockType blockType) {
+        Holder<ChunkStore> template = blockType.getBlockEntity();
+        if (template == null) {
+            return null;
+        }
+        PlanterComponent planter = template.getComponent(ImmersiveGardeningPlugin.get().getPlanterComponent());
+        if (planter == null || planter.getSlots().length == 0) {
+            return null;
+        }
+        return planter.getSlots();
+    }
+
+    private static Vector3d[] defaultSlots(PlanterVariant variant) {
+        return switch (variant) {
+            case TALL -> new Vector3d[]{new Vector3d(0.3, 0.9, -0.35), new Vector3d(0.0, 0.9, -0.35), new Vector3d(-0.3, 0.9, -0.35)};
+            case POT_SMALL -> new Vector3d[]{new Vector3d(0.0, 0.45, 0.0)};
+            case POT -> new Vector3d[]{new Vector3d(0.0, 0.55, 0.0)};
+            case GENERIC -> new Vector3d[]{new Vector3d(0.0, 0.5, 0.0)};
+        };
+    }
+
+    /**
+     * Rotates the offsets for each yaw rotation (multiples of -90 degrees, matching the block's rotation index)
+     * and moves them to the block center.
+     */
+    public static Vector3d[][] bake(Vector3d[] slots) {
+        Vector3d[][] baked = new Vector3d[ROTATIONS][slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            double x = slots[i].getX();
+            double y = slots[i].getY();
+            double z = slots[i].getZ();
+            baked[0][i] = new Vector3d(x + 0.5, y, z + 0.5);
+            baked[1][i] = new Vector3d(z + 0.5, y, -x + 0.5);
+            baked[2][i] = new Vector3d(-x + 0.5, y, -z + 0.5);
+            baked[3][i] = new Vector3d(-z + 0.5, y, x + 0.5);
+        }
+        return baked;
+    }
+}
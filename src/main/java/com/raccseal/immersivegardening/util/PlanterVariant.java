@@ -0,0 +1,33 @@
+package com.raccseal.immersivegardening.util;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Shape of a planter block, which decides how many plants it holds and where they sit.
+ */
+public enum PlanterVariant {
+    POT,
+    POT_SMALL,
+    TALL,
+    // Planter blocks whose id matches none of the known shapes
+    GENERIC;
+
+    /**
+     * Classifies a block id. Only meant to be used when building lookup tables, never on a hot path.
+     *
+     * @return The planter variant, or null if the block is not a planter from this plugin
+     */
+    @Nullable
+    public static PlanterVariant classify(@Nullable String blockId) {
+        if (blockId == null || !blockId.contains("Planter") || !blockId.contains("Immersive_Gardening")) {
+            return null;
+        }
+        if (blockId.contains("Tall")) {
+            return TALL;
+        }
+        if (blockId.contains("Pot")) {
+            return blockId.contains("Small") ? POT_SMALL : POT;
+        }
+        return GENERIC;
+    }
+}
@@ -0,0 +1,60 @@
+package com.raccseal.immersivegardening.component;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoundPlantEntityComponentTest {
+
+    @Test
+    void plantSeedBitsRoundTrip() {
+        BoundPlantEntityComponent component = new BoundPlantEntityComponent();
+        // Crosses the boundary between the first and second long, and uses the full unsigned byte range
+        int[] seeds = {1, 255, 128, 0, 37, 200, 99, 254, 7, 3};
+        for (int slot = 0; slot < seeds.length; slot++) {
+            component.setPlantSeed(slot, seeds[slot]);
+        }
+
+        long[] bits = component.getPlantSeedBits();
+        assertEquals(2, bits.length);
+
+        BoundPlantEntityComponent decoded = new BoundPlantEntityComponent();
+        decoded.setPlantSeedBits(bits);
+        for (int slot = 0; slot < seeds.length; slot++) {
+            assertEquals(seeds[slot], decoded.getPlantSeed(slot), "slot " + slot);
+        }
+        assertArrayEquals(bits, decoded.getPlantSeedBits());
+    }
+
+    @Test
+    void plantSeedBitsStoreSlotZeroInLowestByte() {
+        BoundPlantEntityComponent component = new BoundPlantEntityComponent();
+        component.setPlantSeed(0, 0xAB);
+        component.setPlantSeed(1, 0xCD);
+
+        assertArrayEquals(new long[]{0xCDABL}, component.getPlantSeedBits());
+    }
+
+    @Test
+    void occupancyDecodedFirstSurvivesTheOtherFields() {
+        BoundPlantEntityComponent component = new BoundPlantEntityComponent();
+        component.setOccupancy(0b101);
+        component.setPlantItemIds(new String[]{"Plant_A", null, "Plant_C"});
+        component.setPlantSeedBits(new long[]{0x030201L});
+        component.setSlotEntityBits(new long[]{1L, 2L, 0L, 0L, 5L, 6L});
+
+        assertEquals(0b101, component.getOccupancy());
+        assertEquals(0b101, component.getPlantMask());
+    }
+
+    @Test
+    void missingPlantSeedBitsReadAsNoSeed() {
+        BoundPlantEntityComponent component = new BoundPlantEntityComponent();
+        component.setPlantSeed(2, 42);
+        component.setPlantSeedBits(null);
+
+        assertEquals(0, component.getPlantSeed(2));
+        assertEquals(0, component.getPlantSeed(40));
+    }
+}